@@ -234,9 +234,10 @@ CREATE TABLE `t_link_0`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -253,16 +254,18 @@ CREATE TABLE `t_link_0`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_1`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -279,16 +282,18 @@ CREATE TABLE `t_link_1`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_10`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -305,16 +310,18 @@ CREATE TABLE `t_link_10`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_11`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -331,16 +338,18 @@ CREATE TABLE `t_link_11`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_12`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -357,16 +366,18 @@ CREATE TABLE `t_link_12`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_13`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -383,16 +394,18 @@ CREATE TABLE `t_link_13`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_14`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -409,16 +422,18 @@ CREATE TABLE `t_link_14`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_15`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -435,16 +450,18 @@ CREATE TABLE `t_link_15`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_2`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -461,16 +478,18 @@ CREATE TABLE `t_link_2`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_3`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -487,16 +506,18 @@ CREATE TABLE `t_link_3`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_4`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -513,16 +534,18 @@ CREATE TABLE `t_link_4`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_5`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -539,16 +562,18 @@ CREATE TABLE `t_link_5`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_6`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -565,16 +590,18 @@ CREATE TABLE `t_link_6`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_7`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -591,16 +618,18 @@ CREATE TABLE `t_link_7`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_8`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -617,16 +646,18 @@ CREATE TABLE `t_link_8`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_9`
 (
     `id`              bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `domain`          varchar(128)                                   DEFAULT NULL COMMENT '域名',
-    `short_uri`       varchar(8) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
+    `short_uri`       varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接',
     `full_short_url`  varchar(128)                                   DEFAULT NULL COMMENT '完整短链接',
     `origin_url`      varchar(1024)                                  DEFAULT NULL COMMENT '原始链接',
+    `origin_url_hash` varchar(16)                                    DEFAULT NULL COMMENT '原始链接哈希',
     `click_num`       int(11) DEFAULT '0' COMMENT '点击量',
     `gid`             varchar(32)                                    DEFAULT 'default' COMMENT '分组标识',
     `favicon`         varchar(256)                                   DEFAULT NULL COMMENT '网站图标',
@@ -643,7 +674,8 @@ CREATE TABLE `t_link_9`
     `del_time`        bigint(20) DEFAULT '0' COMMENT '删除时间戳',
     `del_flag`        tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE
+    UNIQUE KEY `idx_unique_full-short-url` (`full_short_url`,`del_time`) USING BTREE,
+    KEY               `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `t_link_access_logs`
@@ -716,6 +748,10 @@ CREATE TABLE `t_link_goto_0`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -725,6 +761,10 @@ CREATE TABLE `t_link_goto_1`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -734,6 +774,10 @@ CREATE TABLE `t_link_goto_10`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -743,6 +787,10 @@ CREATE TABLE `t_link_goto_11`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -752,6 +800,10 @@ CREATE TABLE `t_link_goto_12`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -761,6 +813,10 @@ CREATE TABLE `t_link_goto_13`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -770,6 +826,10 @@ CREATE TABLE `t_link_goto_14`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -779,6 +839,10 @@ CREATE TABLE `t_link_goto_15`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -788,6 +852,10 @@ CREATE TABLE `t_link_goto_2`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -797,6 +865,10 @@ CREATE TABLE `t_link_goto_3`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -806,6 +878,10 @@ CREATE TABLE `t_link_goto_4`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -815,6 +891,10 @@ CREATE TABLE `t_link_goto_5`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -824,6 +904,10 @@ CREATE TABLE `t_link_goto_6`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -833,6 +917,10 @@ CREATE TABLE `t_link_goto_7`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -842,6 +930,10 @@ CREATE TABLE `t_link_goto_8`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -851,6 +943,10 @@ CREATE TABLE `t_link_goto_9`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接',
+    `valid_date`     datetime      DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)    DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)    DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -900,6 +996,14 @@ CREATE TABLE `t_link_os_stats`
     UNIQUE KEY `idx_unique_os_stats` (`full_short_url`,`date`,`os`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+CREATE TABLE `t_link_stats_consumed`
+(
+    `stream_id`   varchar(64) NOT NULL COMMENT '统计消息 Stream ID',
+    `create_time` datetime    NOT NULL COMMENT '消费时间',
+    PRIMARY KEY (`stream_id`),
+    KEY `idx_create_time` (`create_time`) USING BTREE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='已消费统计消息（与统计写入同事务，用于去重）';
+
 CREATE TABLE `t_link_stats_today`
 (
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
@@ -947,4 +1051,14 @@ CREATE TABLE `t_api_token`
     PRIMARY KEY (`id`),
     UNIQUE KEY `uk_token_hash` (`token_hash`) USING BTREE,
     KEY `idx_username` (`username`) USING BTREE
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='API 访问令牌';
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='API 访问令牌';
+
+CREATE TABLE `t_shortcode_segment`
+(
+    `id`          bigint(20)  NOT NULL AUTO_INCREMENT COMMENT 'ID',
+    `biz_tag`     varchar(64) NOT NULL COMMENT '号段命名空间',
+    `next_id`     bigint(20)  NOT NULL COMMENT '下一个可分配的序号',
+    `update_time` datetime             DEFAULT NULL COMMENT '修改时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `idx_unique_biz_tag` (`biz_tag`) USING BTREE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='短码 DB 号段（Redis 不可用时的兜底分配）';
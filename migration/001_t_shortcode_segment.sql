@@ -0,0 +1,11 @@
+-- 短码 DB 号段表（Redis 不可用时的兜底分配）
+-- 适用于 link.sql 早于该表创建的已有数据库，新库直接执行 link.sql 即可
+CREATE TABLE IF NOT EXISTS `t_shortcode_segment`
+(
+    `id`          bigint(20)  NOT NULL AUTO_INCREMENT COMMENT 'ID',
+    `biz_tag`     varchar(64) NOT NULL COMMENT '号段命名空间',
+    `next_id`     bigint(20)  NOT NULL COMMENT '下一个可分配的序号',
+    `update_time` datetime             DEFAULT NULL COMMENT '修改时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `idx_unique_biz_tag` (`biz_tag`) USING BTREE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='短码 DB 号段（Redis 不可用时的兜底分配）';
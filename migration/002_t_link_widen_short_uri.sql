@@ -0,0 +1,18 @@
+-- t_link.short_uri 由 varchar(8) 放宽到 varchar(10)，支持 6~10 位的分命名空间短码
+-- utf8 下 24 → 30 字节仍使用 1 字节长度前缀，MySQL 可原地修改元数据，不重建表、不阻塞读写，可与应用并行执行
+ALTER TABLE `t_link_0` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_1` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_2` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_3` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_4` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_5` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_6` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_7` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_8` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_9` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_10` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_11` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_12` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_13` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_14` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_15` MODIFY COLUMN `short_uri` varchar(10) CHARACTER SET utf8 COLLATE utf8_bin DEFAULT NULL COMMENT '短链接', ALGORITHM=INPLACE, LOCK=NONE;
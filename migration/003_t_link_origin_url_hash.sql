@@ -0,0 +1,19 @@
+-- t_link 增加原始链接哈希及 (gid, origin_url_hash) 索引，供原始链接去重（short-link.dedup）查库兜底
+-- 在线 DDL，不阻塞读写，可与应用并行执行；须在开启 short-link.dedup.enable 之前完成
+-- 哈希基于应用内 URL 规范化结果计算，无法用 SQL 回填：存量链接不参与去重，之后新建或修改的链接写入哈希
+ALTER TABLE `t_link_0` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_1` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_2` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_3` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_4` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_5` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_6` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_7` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_8` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_9` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_10` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_11` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_12` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_13` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_14` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_15` ADD COLUMN `origin_url_hash` varchar(16) DEFAULT NULL COMMENT '原始链接哈希' AFTER `origin_url`, ADD KEY `idx_gid_origin_url_hash` (`gid`,`origin_url_hash`) USING BTREE, ALGORITHM=INPLACE, LOCK=NONE;
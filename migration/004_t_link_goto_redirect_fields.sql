@@ -0,0 +1,67 @@
+-- t_link_goto 冗余跳转所需字段（原始链接、有效期、启用与删除标识），跳转冷未命中按 full_short_url 单分片查询
+-- 1. 在线 DDL 增加字段，不阻塞读写，可与应用并行执行
+-- 2. 分批回填存量行：origin_url 为 NULL 的行视为未回填，应用会回退查询 t_link，回填期间与回填后跳转结果一致
+--    回填只更新 origin_url 仍为 NULL 的行，不覆盖应用已写入的新值；每批一条 UPDATE 自动提交，可中断后重新执行
+--    t_link 按 gid（热点分组再按 full_short_url）分片，同一 t_link_goto 分片的行可能落在任意 t_link 分片，逐一关联 16 张表
+--    只关联未删除的记录（del_time = 0），只有已删除记录的短链接保持 NULL，跳转时按不存在处理
+-- 执行后可用 SELECT COUNT(*) FROM t_link_goto_N WHERE origin_url IS NULL 检查剩余未回填的行
+
+ALTER TABLE `t_link_goto_0` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_1` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_2` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_3` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_4` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_5` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_6` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_7` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_8` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_9` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_10` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_11` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_12` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_13` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_14` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE `t_link_goto_15` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接', ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期', ADD COLUMN `enable_status` tinyint(1) DEFAULT 0 COMMENT '启用标识 0：启用 1：未启用', ADD COLUMN `del_flag` tinyint(1) DEFAULT 0 COMMENT '删除标识 0：未删除 1：已删除', ALGORITHM=INPLACE, LOCK=NONE;
+
+DELIMITER $$
+
+DROP PROCEDURE IF EXISTS `backfill_link_goto_redirect_fields`$$
+
+CREATE PROCEDURE `backfill_link_goto_redirect_fields`(IN batch_size INT)
+BEGIN
+    DECLARE goto_index INT DEFAULT 0;
+    DECLARE link_index INT;
+    DECLARE from_id BIGINT;
+    WHILE goto_index < 16 DO
+        SET @max_id = 0;
+        SET @sql = CONCAT('SELECT IFNULL(MAX(`id`), 0) INTO @max_id FROM `t_link_goto_', goto_index, '`');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+        SET from_id = 0;
+        WHILE from_id < @max_id DO
+            SET link_index = 0;
+            WHILE link_index < 16 DO
+                SET @sql = CONCAT(
+                    'UPDATE `t_link_goto_', goto_index, '` g JOIN `t_link_', link_index, '` l',
+                    ' ON l.`full_short_url` = g.`full_short_url` AND l.`gid` = g.`gid` AND l.`del_time` = 0',
+                    ' SET g.`origin_url` = l.`origin_url`, g.`valid_date` = l.`valid_date`,',
+                    ' g.`enable_status` = l.`enable_status`, g.`del_flag` = l.`del_flag`',
+                    ' WHERE g.`id` > ', from_id, ' AND g.`id` <= ', from_id + batch_size, ' AND g.`origin_url` IS NULL');
+                PREPARE stmt FROM @sql;
+                EXECUTE stmt;
+                DEALLOCATE PREPARE stmt;
+                SET link_index = link_index + 1;
+            END WHILE;
+            SET from_id = from_id + batch_size;
+        END WHILE;
+        SET goto_index = goto_index + 1;
+    END WHILE;
+END$$
+
+DELIMITER ;
+
+-- 每批按 t_link_goto 主键区间 2000 行
+CALL `backfill_link_goto_redirect_fields`(2000);
+
+DROP PROCEDURE IF EXISTS `backfill_link_goto_redirect_fields`;
@@ -0,0 +1,9 @@
+-- 已消费统计消息表（与统计写入同事务，用于批量消费的数据库去重）
+-- 须在开启 short-link.stats-consumer.batch.enable 且 db-dedup 为 true 之前创建
+CREATE TABLE IF NOT EXISTS `t_link_stats_consumed`
+(
+    `stream_id`   varchar(64) NOT NULL COMMENT '统计消息 Stream ID',
+    `create_time` datetime    NOT NULL COMMENT '消费时间',
+    PRIMARY KEY (`stream_id`),
+    KEY `idx_create_time` (`create_time`) USING BTREE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='已消费统计消息（与统计写入同事务，用于去重）';
@@ -0,0 +1,185 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.chanler.shortlink.common.config.GotoDomainWhiteListConfiguration;
+import dev.chanler.shortlink.common.convention.exception.ClientException;
+import dev.chanler.shortlink.toolkit.ParsedUrl;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 跳转域名策略
+ * 启动时把白名单与黑名单编译为按标签倒序的后缀树（com → github → gist），判定只需沿 host 标签走一遍，
+ * 与规则数量无关；命中多条规则时以最具体的规则为准：
+ * 1. 白名单开启时，只有最具体规则为允许的 host 可以跳转，IP 与无法识别注册域名的 host 视为填写错误
+ * 2. 黑名单始终生效
+ * host → 注册域名（eTLD+1）的结果缓存在本地 LRU 中，供白名单 favicon 映射使用
+ * @author: Chanler
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainPolicy {
+
+    private static final byte NO_RULE = 0;
+    private static final byte ALLOW = 1;
+    private static final byte DENY = 2;
+    // 无注册域名
+    private static final String NO_DOMAIN = "";
+
+    private final GotoDomainWhiteListConfiguration gotoDomainWhiteListConfiguration;
+
+    private volatile Node root = new Node();
+
+    // 本地缓存：host -> eTLD+1
+    private Cache<String, String> registrableDomainCache;
+
+    @PostConstruct
+    public void init() {
+        registrableDomainCache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .build();
+        compile();
+    }
+
+    /**
+     * 重新编译规则，配置变更后调用
+     */
+    public void compile() {
+        Node compiled = new Node();
+        insertAll(compiled, gotoDomainWhiteListConfiguration.getDetails(), ALLOW);
+        insertAll(compiled, gotoDomainWhiteListConfiguration.getDenies(), DENY);
+        root = compiled;
+    }
+
+    /**
+     * 校验原始链接是否允许生成跳转
+     */
+    public void verify(ParsedUrl parsedUrl) {
+        boolean whiteListEnable = Boolean.TRUE.equals(gotoDomainWhiteListConfiguration.getEnable());
+        if (parsedUrl == null) {
+            if (whiteListEnable) {
+                throw new ClientException("跳转链接填写错误");
+            }
+            return;
+        }
+        byte rule = match(parsedUrl.host());
+        if (rule == DENY) {
+            throw new ClientException("跳转链接域名已被禁止");
+        }
+        if (!whiteListEnable) {
+            return;
+        }
+        if (registrableDomain(parsedUrl) == null) {
+            throw new ClientException("跳转链接填写错误");
+        }
+        if (rule != ALLOW) {
+            throw new ClientException("演示环境为避免恶意攻击，请生成以下网站跳转链接：" + gotoDomainWhiteListConfiguration.getNames());
+        }
+    }
+
+    /**
+     * 白名单开启且 host 被允许时，返回硬编码的 favicon 映射，不发起网络请求
+     */
+    public String whitelistFavicon(ParsedUrl parsedUrl) {
+        if (parsedUrl == null || !Boolean.TRUE.equals(gotoDomainWhiteListConfiguration.getEnable())
+                || match(parsedUrl.host()) != ALLOW) {
+            return null;
+        }
+        String domain = registrableDomain(parsedUrl);
+        if (domain == null) {
+            return null;
+        }
+        String mapped = WhitelistFavicons.get(domain);
+        return mapped != null ? mapped : "https://" + domain + "/favicon.ico";
+    }
+
+    /**
+     * host 的注册域名（eTLD+1），IP 与 localhost 返回 null
+     */
+    public String registrableDomain(ParsedUrl parsedUrl) {
+        String domain = registrableDomainCache.get(parsedUrl.host(), host -> {
+            String computed = ParsedUrl.registrableDomainOf(host);
+            return computed == null ? NO_DOMAIN : computed;
+        });
+        return domain.isEmpty() ? null : domain;
+    }
+
+    /**
+     * 沿 host 标签从右向左匹配，返回最具体的规则
+     */
+    private byte match(String host) {
+        Node node = root;
+        byte rule = node.rule;
+        int end = host.length();
+        while (end > 0 && node != null) {
+            int dot = host.lastIndexOf('.', end - 1);
+            node = node.children.get(host.substring(dot + 1, end));
+            if (node != null && node.rule != NO_RULE) {
+                rule = node.rule;
+            }
+            end = dot;
+        }
+        return rule;
+    }
+
+    private static void insertAll(Node root, List<String> domains, byte rule) {
+        if (domains == null) {
+            return;
+        }
+        for (String each : domains) {
+            if (each == null || each.isBlank()) {
+                continue;
+            }
+            String domain = each.trim().toLowerCase(Locale.ROOT);
+            if (domain.endsWith(".")) {
+                domain = domain.substring(0, domain.length() - 1);
+            }
+            Node node = root;
+            int end = domain.length();
+            while (end > 0) {
+                int dot = domain.lastIndexOf('.', end - 1);
+                node = node.children.computeIfAbsent(domain.substring(dot + 1, end), k -> new Node());
+                end = dot;
+            }
+            // 同一域名同时出现在两份名单时以黑名单为准
+            if (node.rule != DENY) {
+                node.rule = rule;
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>(4);
+        private byte rule = NO_RULE;
+    }
+
+    /**
+     * 白名单 favicon 硬编码映射
+     */
+    private static class WhitelistFavicons {
+        private static final Map<String, String> MAP = new HashMap<>();
+        static {
+            MAP.put("chanler.dev", "https://chanler.dev/favicon.ico");
+            MAP.put("zhihu.com", "https://www.zhihu.com/favicon.ico");
+            MAP.put("juejin.cn", "https://lf-web-assets.juejin.cn/obj/juejin-web/xitu_juejin_web/static/favicons/favicon-32x32.png");
+            MAP.put("cnblogs.com", "https://www.cnblogs.com/favicon.ico");
+            MAP.put("bilibili.com", "https://www.bilibili.com/favicon.ico");
+            MAP.put("github.com", "https://github.com/favicon.ico");
+            MAP.put("csdn.net", "https://www.csdn.net/favicon.ico");
+            MAP.put("weixin.qq.com", "https://res.wx.qq.com/a/wx_fed/assets/res/NTI4MWU5.ico");
+            MAP.put("qq.com", "https://www.qq.com/favicon.ico");
+            MAP.put("toutiao.com", "https://www.toutiao.com/favicon.ico");
+            MAP.put("weibo.com", "https://weibo.com/favicon.ico");
+            MAP.put("douban.com", "https://www.douban.com/favicon.ico");
+            MAP.put("jianshu.com", "https://www.jianshu.com/favicon.ico");
+        }
+        static String get(String domain) { return MAP.get(domain.toLowerCase(Locale.ROOT)); }
+    }
+}
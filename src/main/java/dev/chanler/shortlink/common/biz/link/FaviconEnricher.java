@@ -0,0 +1,247 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.chanler.shortlink.common.config.FaviconProperties;
+import dev.chanler.shortlink.dao.mapper.LinkMapper;
+import dev.chanler.shortlink.toolkit.HeadBodySubscriber;
+import dev.chanler.shortlink.toolkit.NegativeAwareExpiry;
+import dev.chanler.shortlink.toolkit.ParsedUrl;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.FAVICON_CACHE_KEY;
+
+/**
+ * 短链接 favicon 异步补全
+ * 创建、修改短链接时不在事务内抓取第三方站点：
+ * 1. 白名单站点与本地缓存已命中的站点直接写入，不发起网络请求
+ * 2. 其余链接在事务提交后入队，由有界线程池抓取，再按 (gid, fullShortUrl, originUrl) 回写 t_link.favicon
+ * 3. 抓取结果按站点（ParsedUrl.siteKey，即 host[:port]）缓存在本地 Caffeine 与 Redis，同一站点的并发补全只抓取一次
+ * 4. 本地缓存为 AsyncCache，抓取经 HttpClient 异步发出，加载不在缓存计算内阻塞
+ * 线程池大小即抓取并发上限，队列满时丢弃任务，短链接保留空图标，不影响创建
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FaviconEnricher {
+
+    private static final Pattern ICON_LINK_PATTERN =
+            Pattern.compile("(?i)<link[^>]+rel=[\"'](?:shortcut\\s+)?icon[\"'][^>]*href=[\"']([^\"']+)[\"']");
+    private static final int MAX_HTML_BYTES = 32 * 1024;
+    private static final String USER_AGENT = "Mozilla/5.0";
+    // 站点无可用图标
+    private static final String NO_FAVICON = "";
+
+    private final LinkMapper linkMapper;
+    private final DomainPolicy domainPolicy;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final FaviconProperties faviconProperties;
+
+    // 本地缓存：site -> favicon
+    private AsyncCache<String, String> faviconCache;
+
+    private ExecutorService enrichExecutor;
+
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        faviconCache = Caffeine.newBuilder()
+                .maximumSize(faviconProperties.getLocalCacheSize())
+                .expireAfter(new NegativeAwareExpiry(
+                        Duration.ofMinutes(faviconProperties.getLocalCacheTtlMinutes()),
+                        Duration.ofMinutes(faviconProperties.getNegativeCacheTtlMinutes())))
+                .buildAsync();
+        AtomicInteger index = new AtomicInteger();
+        enrichExecutor = new ThreadPoolExecutor(
+                faviconProperties.getMaxConcurrency(),
+                faviconProperties.getMaxConcurrency(),
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(faviconProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setName("favicon-enricher-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> log.warn("Favicon enrich queue full, task discarded")
+        );
+        // 共享客户端复用连接，不使用调用方线程池执行回调
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(faviconProperties.getConnectTimeoutMillis()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (enrichExecutor != null) {
+            enrichExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 不发起网络请求获取 favicon：白名单映射或本地缓存命中，否则返回 null
+     */
+    public String peek(ParsedUrl parsedUrl) {
+        if (parsedUrl == null) {
+            return null;
+        }
+        String whitelistFavicon = domainPolicy.whitelistFavicon(parsedUrl);
+        if (whitelistFavicon != null) {
+            return whitelistFavicon;
+        }
+        // 加载中或加载失败的站点视为未命中
+        CompletableFuture<String> cached = faviconCache.getIfPresent(parsedUrl.siteKey());
+        String favicon = cached == null || cached.isCompletedExceptionally() ? null : cached.getNow(null);
+        return StrUtil.isEmpty(favicon) ? null : favicon;
+    }
+
+    /**
+     * 在当前事务提交后异步补全 favicon，无事务时立即入队
+     * 回写条件带上 originUrl，补全期间链接被修改时不会覆盖新地址的图标
+     */
+    public void enrichAfterCommit(String gid, String fullShortUrl, String originUrl) {
+        Runnable task = () -> enrichExecutor.execute(() -> enrich(gid, fullShortUrl, originUrl));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private void enrich(String gid, String fullShortUrl, String originUrl) {
+        try {
+            linkMapper.updateFavicon(gid, fullShortUrl, originUrl, resolve(originUrl));
+        } catch (Throwable t) {
+            log.warn("Favicon enrich error, fullShortUrl={}", fullShortUrl, t);
+        }
+    }
+
+    /**
+     * 按站点解析 favicon：本地缓存 → Redis → 抓取，同一站点的并发解析由 Caffeine 合并为一次
+     * 补全线程等待加载结果，线程池大小仍是同时补全的上限
+     */
+    private String resolve(String originUrl) {
+        ParsedUrl parsedUrl = ParsedUrl.parse(originUrl);
+        if (parsedUrl == null) {
+            return null;
+        }
+        String favicon = faviconCache.get(parsedUrl.siteKey(), (key, executor) -> load(parsedUrl)).join();
+        return StrUtil.isEmpty(favicon) ? null : favicon;
+    }
+
+    private CompletableFuture<String> load(ParsedUrl parsedUrl) {
+        String redisKey = String.format(FAVICON_CACHE_KEY, parsedUrl.siteKey());
+        try {
+            String cached = stringRedisTemplate.opsForValue().get(redisKey);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        } catch (Throwable t) {
+            log.warn("Read favicon cache error, site={}", parsedUrl.siteKey(), t);
+        }
+        return fetch(parsedUrl).thenApply(each -> {
+            String favicon = each == null ? NO_FAVICON : each;
+            store(parsedUrl, redisKey, favicon);
+            return favicon;
+        });
+    }
+
+    private void store(ParsedUrl parsedUrl, String redisKey, String favicon) {
+        try {
+            if (favicon.isEmpty()) {
+                stringRedisTemplate.opsForValue().set(redisKey, favicon, faviconProperties.getNegativeCacheTtlMinutes(), TimeUnit.MINUTES);
+            } else {
+                stringRedisTemplate.opsForValue().set(redisKey, favicon, faviconProperties.getCacheTtlHours(), TimeUnit.HOURS);
+            }
+        } catch (Throwable t) {
+            log.warn("Write favicon cache error, site={}", parsedUrl.siteKey(), t);
+        }
+    }
+
+    /**
+     * 先解析页面 <link rel="icon">（最多读取 32KB），再回退 /favicon.ico（需返回图片类型）
+     */
+    private CompletableFuture<String> fetch(ParsedUrl parsedUrl) {
+        return fetchIconLink(parsedUrl)
+                .thenCompose(icon -> icon != null ? CompletableFuture.completedFuture(icon) : fetchFaviconIco(parsedUrl));
+    }
+
+    private CompletableFuture<String> fetchIconLink(ParsedUrl parsedUrl) {
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            response = httpClient.sendAsync(request(parsedUrl.url()), responseInfo -> new HeadBodySubscriber(MAX_HTML_BYTES));
+        } catch (IllegalArgumentException ex) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return response
+                .orTimeout(faviconProperties.getRequestTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(page -> {
+                    if (page.statusCode() < 200 || page.statusCode() >= 300) {
+                        return null;
+                    }
+                    Matcher matcher = ICON_LINK_PATTERN.matcher(new String(page.body(), StandardCharsets.UTF_8));
+                    return matcher.find() ? parsedUrl.resolve(matcher.group(1).trim()) : null;
+                })
+                .exceptionally(ex -> null);
+    }
+
+    private CompletableFuture<String> fetchFaviconIco(ParsedUrl parsedUrl) {
+        String fallback = parsedUrl.baseUrl() + "/favicon.ico";
+        CompletableFuture<HttpResponse<Void>> response;
+        try {
+            response = httpClient.sendAsync(request(fallback), HttpResponse.BodyHandlers.discarding());
+        } catch (IllegalArgumentException ex) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return response
+                .orTimeout(faviconProperties.getRequestTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(icon -> {
+                    String contentType = icon.headers().firstValue("Content-Type").orElse("");
+                    boolean image = icon.statusCode() >= 200 && icon.statusCode() < 300
+                            && contentType.toLowerCase(Locale.ROOT).startsWith("image");
+                    return image ? fallback : null;
+                })
+                .exceptionally(ex -> null);
+    }
+
+    private HttpRequest request(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(faviconProperties.getRequestTimeoutMillis()))
+                .header("User-Agent", USER_AGENT)
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import dev.chanler.shortlink.dao.entity.LinkDO;
+import dev.chanler.shortlink.toolkit.LinkUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+
+/**
+ * 短链接写操作的缓存同步
+ * 创建、修改、回收站操作不再在事务内逐条访问 Redis：
+ * 1. 同一事务内登记的缓存操作合并为一批，在 afterCommit 中以一次管道发出；事务回滚时整批丢弃，Redis 不会出现已回滚的链接
+ * 2. 无事务时立即发出
+ * 3. 管道内顺序为：删除跳转缓存 → 预热跳转缓存 → 删除空值 Key → 布隆过滤器与去重索引 → 本地缓存失效广播，
+ *    其他节点收到广播时 Redis 已是新状态；本节点缓存在管道执行完成后才失效，避免并发跳转回源读到旧值并重新缓存
+ * 4. 管道失败时按退避间隔异步重试，操作均为幂等（SET / DEL / SETBIT / PUBLISH），重复执行无副作用
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LinkCacheSynchronizer {
+
+    private static final long[] RETRY_DELAYS_MILLIS = {200, 1000, 5000};
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkBloomFilterReplica shortLinkBloomFilterReplica;
+    private final OriginUrlDedupIndex originUrlDedupIndex;
+    private final LocalCacheInvalidator localCacheInvalidator;
+
+    private ScheduledExecutorService retryExecutor;
+
+    @PostConstruct
+    public void init() {
+        retryExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "link-cache-sync-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        retryExecutor.shutdownNow();
+    }
+
+    /**
+     * 新建短链接：预热跳转缓存、删除空值 Key、加入布隆过滤器与去重索引并广播本地缓存失效
+     */
+    public void warmUp(LinkDO linkDO) {
+        warmUpAll(List.of(linkDO));
+    }
+
+    /**
+     * 批量新建短链接，见 {@link #warmUp(LinkDO)}
+     */
+    public void warmUpAll(Collection<LinkDO> linkDOList) {
+        if (linkDOList.isEmpty()) {
+            return;
+        }
+        PendingSync pending = pending();
+        for (LinkDO each : linkDOList) {
+            pending.warmUps.add(each);
+            pending.nullClears.add(each.getFullShortUrl());
+            pending.invalidations.add(each.getFullShortUrl());
+        }
+        submitIfNoTransaction(pending);
+    }
+
+    /**
+     * 删除跳转缓存并广播本地缓存失效，用于跳转目标或有效期变更、移入回收站
+     */
+    public void evict(String fullShortUrl) {
+        PendingSync pending = pending();
+        pending.evictions.add(fullShortUrl);
+        pending.invalidations.add(fullShortUrl);
+        submitIfNoTransaction(pending);
+    }
+
+    /**
+     * 删除空值 Key 并广播本地缓存失效，用于过期链接重新生效、移出回收站
+     */
+    public void clearNull(String fullShortUrl) {
+        PendingSync pending = pending();
+        pending.nullClears.add(fullShortUrl);
+        pending.invalidations.add(fullShortUrl);
+        submitIfNoTransaction(pending);
+    }
+
+    /**
+     * 仅广播本地缓存失效，用于分组变更、删除
+     */
+    public void invalidate(String fullShortUrl) {
+        PendingSync pending = pending();
+        pending.invalidations.add(fullShortUrl);
+        submitIfNoTransaction(pending);
+    }
+
+    /**
+     * 当前事务内共用一个批次，首次登记时注册事务同步；无事务时每次调用单独成批
+     */
+    private PendingSync pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new PendingSync(false);
+        }
+        PendingSync pending = (PendingSync) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingSync(true);
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private void submitIfNoTransaction(PendingSync pending) {
+        if (!pending.transactional) {
+            sync(pending, 0);
+        }
+    }
+
+    private void sync(PendingSync pending, int attempt) {
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String each : pending.evictions) {
+                    connection.keyCommands().del(String.format(GOTO_SHORT_LINK_KEY, each).getBytes(StandardCharsets.UTF_8));
+                }
+                List<String> warmed = new ArrayList<>(pending.warmUps.size());
+                for (LinkDO each : pending.warmUps) {
+                    // 重试时按当前时间重新计算，已过期的链接不再预热
+                    long validTime = LinkUtil.getLinkCacheValidTime(each.getValidDate());
+                    if (validTime > 0) {
+                        connection.stringCommands().set(
+                                String.format(GOTO_SHORT_LINK_KEY, each.getFullShortUrl()).getBytes(StandardCharsets.UTF_8),
+                                each.getOriginUrl().getBytes(StandardCharsets.UTF_8),
+                                Expiration.milliseconds(validTime),
+                                RedisStringCommands.SetOption.upsert());
+                    }
+                    warmed.add(each.getFullShortUrl());
+                }
+                for (String each : pending.nullClears) {
+                    connection.keyCommands().del(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, each).getBytes(StandardCharsets.UTF_8));
+                }
+                if (!warmed.isEmpty()) {
+                    shortLinkBloomFilterReplica.addAll(connection, warmed);
+                    originUrlDedupIndex.recordAll(connection, pending.warmUps);
+                }
+                localCacheInvalidator.publishAll(connection, pending.invalidations);
+                return null;
+            });
+            localCacheInvalidator.evictAll(pending.invalidations);
+        } catch (Throwable t) {
+            if (attempt >= RETRY_DELAYS_MILLIS.length) {
+                log.error("Link cache sync failed after {} retries, fullShortUrls={}", attempt, pending.invalidations, t);
+                localCacheInvalidator.evictAll(pending.invalidations);
+                return;
+            }
+            log.warn("Link cache sync error, retry in {}ms, attempt={}", RETRY_DELAYS_MILLIS[attempt], attempt + 1, t);
+            try {
+                retryExecutor.schedule(() -> sync(pending, attempt + 1), RETRY_DELAYS_MILLIS[attempt], TimeUnit.MILLISECONDS);
+            } catch (Throwable rejected) {
+                log.error("Schedule link cache sync retry error, fullShortUrls={}", pending.invalidations, rejected);
+            }
+        }
+    }
+
+    /**
+     * 一批待同步的缓存操作
+     */
+    private final class PendingSync implements TransactionSynchronization {
+
+        private final boolean transactional;
+        private final List<LinkDO> warmUps = new ArrayList<>();
+        private final Set<String> evictions = new LinkedHashSet<>();
+        private final Set<String> nullClears = new LinkedHashSet<>();
+        private final Set<String> invalidations = new LinkedHashSet<>();
+
+        PendingSync(boolean transactional) {
+            this.transactional = transactional;
+        }
+
+        @Override
+        public void afterCommit() {
+            sync(this, 0);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(LinkCacheSynchronizer.this);
+        }
+    }
+}
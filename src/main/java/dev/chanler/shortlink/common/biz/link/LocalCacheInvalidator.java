@@ -0,0 +1,62 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import dev.chanler.shortlink.mq.consumer.LinkStatsSaveConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.LOCAL_CACHE_INVALIDATE_CHANNEL;
+
+/**
+ * 集群本地缓存失效总线
+ * 短链接变更在 Redis 跳转缓存更新后通过 Pub/Sub 广播，所有节点收到后失效各自的跳转缓存、空值缓存与消费者 gid 缓存
+ * Pub/Sub 至多一次投递，丢失的消息由 redirectCache 的 refreshAfterWrite 兜底收敛
+ * @author: Chanler
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalCacheInvalidator implements MessageListener {
+
+    private final AsyncLoadingCache<String, RedirectTarget> redirectCache;
+    private final Cache<String, Boolean> redirectNullCache;
+    private final LinkStatsSaveConsumer linkStatsSaveConsumer;
+
+    /**
+     * 批量广播：失效消息追加到调用方的管道中，排在同批跳转缓存变更之后发出
+     * @param connection 管道连接
+     * @param fullShortUrls 完整短链接集合
+     */
+    public void publishAll(RedisConnection connection, Collection<String> fullShortUrls) {
+        byte[] channel = LOCAL_CACHE_INVALIDATE_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        for (String fullShortUrl : fullShortUrls) {
+            connection.publish(channel, fullShortUrl.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 失效本节点缓存，须在管道执行完成后调用：管道执行前失效，并发跳转会回源读到 Redis 旧值并重新缓存
+     * @param fullShortUrls 完整短链接集合
+     */
+    public void evictAll(Collection<String> fullShortUrls) {
+        fullShortUrls.forEach(this::evictLocal);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String fullShortUrl = new String(message.getBody(), StandardCharsets.UTF_8);
+        evictLocal(fullShortUrl);
+    }
+
+    private void evictLocal(String fullShortUrl) {
+        redirectNullCache.invalidate(fullShortUrl);
+        redirectCache.synchronous().invalidate(fullShortUrl);
+        linkStatsSaveConsumer.invalidateGidCache(fullShortUrl);
+    }
+}
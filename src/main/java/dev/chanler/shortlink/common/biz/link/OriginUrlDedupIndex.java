@@ -0,0 +1,164 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import dev.chanler.shortlink.dao.entity.LinkDO;
+import dev.chanler.shortlink.dao.mapper.LinkMapper;
+import dev.chanler.shortlink.toolkit.HashUtil;
+import dev.chanler.shortlink.toolkit.LinkUtil;
+import dev.chanler.shortlink.toolkit.ParsedUrl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.ORIGIN_URL_DEDUP_KEY;
+
+/**
+ * 原始链接去重索引
+ * 开启后同一分组下重复提交的原始链接（规范化后相同）直接返回已有的存活短链接，不再分配短码与写入新行：
+ * 1. 索引键为 HashUtil 对 ParsedUrl 规范化结果的哈希，Redis 中保存 (gid, hash) → fullShortUrl，TTL 与短链接有效期一致
+ * 2. Redis 未命中时按 t_link.origin_url_hash 查库兜底，t_link 按 gid 分片，查询只落一张真实表
+ * 3. 哈希可能碰撞、索引可能指向已修改或删除的链接，命中后均按规范化 URL 与存活状态校验
+ * 去重是尽力而为的：并发提交同一链接时仍可能各自创建
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OriginUrlDedupIndex {
+
+    private final LinkMapper linkMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${short-link.dedup.enable:false}")
+    private boolean enable;
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    /**
+     * 原始链接索引哈希（对 ParsedUrl 规范化结果），写入 t_link.origin_url_hash
+     * 无法解析的链接不参与去重，返回 null
+     */
+    public static String hash(ParsedUrl parsedUrl) {
+        return parsedUrl == null ? null : HashUtil.hashToBase62(parsedUrl.normalized());
+    }
+
+    /**
+     * 查找分组下与原始链接相同的存活短链接
+     * @return 不存在时返回 null
+     */
+    public LinkDO find(String gid, ParsedUrl parsedUrl) {
+        return parsedUrl == null ? null : findAll(gid, List.of(parsedUrl)).get(parsedUrl.normalized());
+    }
+
+    /**
+     * 批量查找：一次 MGET，一次按 fullShortUrl 校验，未命中部分一次按哈希查库
+     * @return 规范化 URL → 已有存活短链接
+     */
+    public Map<String, LinkDO> findAll(String gid, Collection<ParsedUrl> parsedUrls) {
+        Map<String, LinkDO> found = new HashMap<>();
+        Map<String, String> hashByNormalized = new LinkedHashMap<>();
+        for (ParsedUrl each : parsedUrls) {
+            if (each != null) {
+                hashByNormalized.putIfAbsent(each.normalized(), hash(each));
+            }
+        }
+        if (hashByNormalized.isEmpty()) {
+            return found;
+        }
+        // 1. Redis 索引
+        Set<String> candidates = new LinkedHashSet<>();
+        try {
+            List<String> keys = hashByNormalized.values().stream()
+                    .map(each -> String.format(ORIGIN_URL_DEDUP_KEY, gid, each))
+                    .toList();
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+            if (values != null) {
+                values.stream().filter(Objects::nonNull).forEach(candidates::add);
+            }
+        } catch (Throwable t) {
+            log.warn("Read origin url dedup index error, gid={}", gid, t);
+        }
+        if (!candidates.isEmpty()) {
+            collectLive(linkMapper.selectList(Wrappers.lambdaQuery(LinkDO.class)
+                    .eq(LinkDO::getGid, gid)
+                    .in(LinkDO::getFullShortUrl, candidates)
+                    .eq(LinkDO::getEnableStatus, 0)
+                    .eq(LinkDO::getDelFlag, 0)
+                    .eq(LinkDO::getDelTime, 0L)), hashByNormalized, found);
+        }
+        // 2. 查库兜底
+        List<String> missingHashes = hashByNormalized.entrySet().stream()
+                .filter(each -> !found.containsKey(each.getKey()))
+                .map(Map.Entry::getValue)
+                .distinct()
+                .toList();
+        if (!missingHashes.isEmpty()) {
+            collectLive(linkMapper.selectList(Wrappers.lambdaQuery(LinkDO.class)
+                    .eq(LinkDO::getGid, gid)
+                    .in(LinkDO::getOriginUrlHash, missingHashes)
+                    .eq(LinkDO::getEnableStatus, 0)
+                    .eq(LinkDO::getDelFlag, 0)
+                    .eq(LinkDO::getDelTime, 0L)), hashByNormalized, found);
+        }
+        return found;
+    }
+
+    /**
+     * 批量记录索引，追加到调用方的管道中随同一批命令发出
+     */
+    public void recordAll(RedisConnection connection, Collection<LinkDO> linkDOList) {
+        if (!enable) {
+            return;
+        }
+        for (LinkDO each : linkDOList) {
+            long validTime = LinkUtil.getLinkCacheValidTime(each.getValidDate());
+            if (each.getOriginUrlHash() == null || validTime <= 0) {
+                continue;
+            }
+            connection.stringCommands().set(
+                    String.format(ORIGIN_URL_DEDUP_KEY, each.getGid(), each.getOriginUrlHash()).getBytes(StandardCharsets.UTF_8),
+                    each.getFullShortUrl().getBytes(StandardCharsets.UTF_8),
+                    Expiration.milliseconds(validTime),
+                    RedisStringCommands.SetOption.upsert());
+        }
+    }
+
+    private void collectLive(List<LinkDO> rows, Map<String, String> hashByNormalized, Map<String, LinkDO> found) {
+        if (CollUtil.isEmpty(rows)) {
+            return;
+        }
+        Date now = new Date();
+        List<LinkDO> live = new ArrayList<>(rows.size());
+        for (LinkDO each : rows) {
+            if (each.getValidDate() == null || each.getValidDate().after(now)) {
+                live.add(each);
+            }
+        }
+        for (LinkDO each : live) {
+            ParsedUrl parsedUrl = ParsedUrl.parse(each.getOriginUrl());
+            if (parsedUrl != null && hashByNormalized.containsKey(parsedUrl.normalized())) {
+                found.putIfAbsent(parsedUrl.normalized(), each);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import dev.chanler.shortlink.dao.entity.LinkDO;
+import dev.chanler.shortlink.dao.entity.LinkGotoDO;
+import dev.chanler.shortlink.dao.mapper.LinkMapper;
+import dev.chanler.shortlink.toolkit.LinkUtil;
+import dev.chanler.shortlink.toolkit.ShortCodeUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+
+/**
+ * 短链接跳转缓存加载器
+ * 作为 redirectCache 的回源逻辑：Redis → 短码快速否定 → 布隆过滤器 → 空值缓存 → DB
+ * 判定不存在时同时写入本地空值缓存 redirectNullCache，后续请求不再访问 Redis
+ * 由 Caffeine 保证同一 key 并发未命中只触发一次加载（single-flight），返回 null 表示短链接不存在
+ * 需要回源 DB 时经 {@link RedirectDbBatchLoader} 与其他短链接的未命中合并查询，异步加载期间不占用回源线程
+ * 返回值携带短链接失效时间，供 {@link RedirectTargetExpiry} 按 validDate 精确淘汰
+ * @author: Chanler
+ */
+@Component
+@RequiredArgsConstructor
+public class RedirectCacheLoader implements CacheLoader<String, RedirectTarget> {
+
+    /**
+     * 缓存未能判定、需要回源 DB 的占位值，仅用于内部流转
+     */
+    private static final RedirectTarget DB_LOOKUP = new RedirectTarget(null, 0L);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkBloomFilterReplica shortLinkBloomFilterReplica;
+    private final RedirectDbBatchLoader redirectDbBatchLoader;
+    private final LinkMapper linkMapper;
+    private final Cache<String, Boolean> redirectNullCache;
+
+    @Override
+    public RedirectTarget load(String fullShortUrl) {
+        RedirectTarget cached = loadFromCache(fullShortUrl);
+        if (cached != DB_LOOKUP) {
+            return cached;
+        }
+        return loadFromDb(fullShortUrl, redirectDbBatchLoader.load(fullShortUrl).join());
+    }
+
+    @Override
+    public CompletableFuture<RedirectTarget> asyncLoad(String fullShortUrl, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> loadFromCache(fullShortUrl), executor)
+                .thenCompose(cached -> cached != DB_LOOKUP
+                        ? CompletableFuture.completedFuture(cached)
+                        : redirectDbBatchLoader.load(fullShortUrl)
+                                .thenApplyAsync(linkGotoDO -> loadFromDb(fullShortUrl, linkGotoDO), executor));
+    }
+
+    @Override
+    public CompletableFuture<RedirectTarget> asyncReload(String fullShortUrl, RedirectTarget oldValue, Executor executor) {
+        return asyncLoad(fullShortUrl, executor);
+    }
+
+    /**
+     * 依次查询 Redis 缓存、短码与布隆过滤器、空值缓存
+     * @return 命中时返回跳转目标，判定不存在返回 null，需要回源 DB 返回 {@link #DB_LOOKUP}
+     */
+    private RedirectTarget loadFromCache(String fullShortUrl) {
+        // 1. 查询 Redis 缓存，同一管道内读取剩余 TTL（写入时 TTL 即距 validDate 的时长）
+        String gotoKey = String.format(GOTO_SHORT_LINK_KEY, fullShortUrl);
+        List<Object> cached = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] rawKey = gotoKey.getBytes(StandardCharsets.UTF_8);
+            connection.stringCommands().get(rawKey);
+            connection.keyCommands().pTtl(rawKey);
+            return null;
+        });
+        String originalLink = (String) cached.get(0);
+        if (StrUtil.isNotBlank(originalLink)) {
+            Long pttl = (Long) cached.get(1);
+            long expireAt = (pttl == null || pttl < 0) ? RedirectTarget.NEVER_EXPIRE : System.currentTimeMillis() + pttl;
+            return new RedirectTarget(originalLink, expireAt);
+        }
+        // 2. 短码快速否定与布隆过滤器（本地副本就绪时不访问 Redis），拦截不存在的短链接
+        int slash = fullShortUrl.lastIndexOf('/');
+        if (!ShortCodeUtil.mightExist(fullShortUrl.substring(0, slash), fullShortUrl.substring(slash + 1))) {
+            return notFound(fullShortUrl);
+        }
+        if (!shortLinkBloomFilterReplica.contains(fullShortUrl)) {
+            return notFound(fullShortUrl);
+        }
+        // 3. 空值缓存
+        String gotoIsNullShortLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
+        if (StrUtil.isNotBlank(gotoIsNullShortLink)) {
+            return notFound(fullShortUrl);
+        }
+        return DB_LOOKUP;
+    }
+
+    /**
+     * 根据 t_link_goto 跳转投影判定跳转目标并回写 Redis
+     */
+    private RedirectTarget loadFromDb(String fullShortUrl, LinkGotoDO linkGotoDO) {
+        // 4. 回源 DB 并回写 Redis：t_link_goto 冗余了跳转所需字段，按 full_short_url 单分片查询一次
+        if (linkGotoDO == null) {
+            return cacheNotFound(fullShortUrl);
+        }
+        String originUrl;
+        Date validDate;
+        if (linkGotoDO.getOriginUrl() != null) {
+            if (!Objects.equals(linkGotoDO.getDelFlag(), 0) || !Objects.equals(linkGotoDO.getEnableStatus(), 0)) {
+                return cacheNotFound(fullShortUrl);
+            }
+            originUrl = linkGotoDO.getOriginUrl();
+            validDate = linkGotoDO.getValidDate();
+        } else {
+            // 未回填冗余字段的存量行，回退按 gid 查询 t_link
+            LambdaQueryWrapper<LinkDO> queryWrapper = Wrappers.lambdaQuery(LinkDO.class)
+                    .eq(LinkDO::getGid, linkGotoDO.getGid())
+                    .eq(LinkDO::getFullShortUrl, fullShortUrl)
+                    .eq(LinkDO::getDelFlag, 0)
+                    .eq(LinkDO::getEnableStatus, 0);
+            LinkDO linkDO = linkMapper.selectOne(queryWrapper);
+            if (linkDO == null) {
+                return cacheNotFound(fullShortUrl);
+            }
+            originUrl = linkDO.getOriginUrl();
+            validDate = linkDO.getValidDate();
+        }
+        if (validDate != null && validDate.before(new Date())) {
+            return cacheNotFound(fullShortUrl);
+        }
+        stringRedisTemplate.opsForValue().set(
+                String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
+                originUrl,
+                LinkUtil.getLinkCacheValidTime(validDate), TimeUnit.MILLISECONDS
+        );
+        return RedirectTarget.of(originUrl, validDate);
+    }
+
+    private RedirectTarget cacheNotFound(String fullShortUrl) {
+        stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
+        return notFound(fullShortUrl);
+    }
+
+    private RedirectTarget notFound(String fullShortUrl) {
+        redirectNullCache.put(fullShortUrl, Boolean.TRUE);
+        return null;
+    }
+}
@@ -0,0 +1,152 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import dev.chanler.shortlink.common.config.RedirectBatchProperties;
+import dev.chanler.shortlink.dao.entity.LinkGotoDO;
+import dev.chanler.shortlink.dao.mapper.LinkGotoMapper;
+import dev.chanler.shortlink.toolkit.HashModShardingUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.chanler.shortlink.toolkit.HashModShardingUtil.LINK_GOTO_TABLE_SHARDING_COUNT;
+
+/**
+ * 跳转回源批量查询
+ * 部署或本地缓存清空后大量不同短链接同时未命中，逐条查询会占满连接池，改为 DataLoader 式合并：
+ * 1. 未命中入队，首个入队者启动 maxWaitMicros 计时，到时或攒满 maxBatchSize 时整批发出
+ * 2. 整批按 t_link_goto 真实表分组，每张表一条 full_short_url IN (...) 查询，各表查询在独立的查询线程池并行执行，
+ *    不使用 redirectLoadExecutor，避免回源线程同步等待批次时占满线程池、查询无线程可用
+ * 3. 查询失败时该组所有等待者异常完成，由 redirectCache 按加载失败处理，不写入空值缓存
+ * 同一短链接的并发未命中已由 Caffeine 合并，这里不再去重
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedirectDbBatchLoader {
+
+    private final LinkGotoMapper linkGotoMapper;
+    private final RedirectBatchProperties redirectBatchProperties;
+
+    private final Object lock = new Object();
+    private List<PendingLookup> buffer = new ArrayList<>();
+    private ScheduledFuture<?> flushTask;
+    private ScheduledThreadPoolExecutor timer;
+    private ThreadPoolExecutor queryExecutor;
+
+    @PostConstruct
+    public void init() {
+        timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "redirect-batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        AtomicInteger index = new AtomicInteger();
+        int queryThreads = redirectBatchProperties.getQueryThreads();
+        // 队列满时由发出批次的线程直接查询
+        queryExecutor = new ThreadPoolExecutor(
+                queryThreads,
+                queryThreads,
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1024),
+                runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setName("redirect-batch-query-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void destroy() {
+        timer.shutdownNow();
+        queryExecutor.shutdown();
+    }
+
+    /**
+     * 查询短链接的跳转投影
+     * @return 完成值为 null 表示 t_link_goto 中不存在
+     */
+    public CompletableFuture<LinkGotoDO> load(String fullShortUrl) {
+        CompletableFuture<LinkGotoDO> future = new CompletableFuture<>();
+        List<PendingLookup> full = null;
+        synchronized (lock) {
+            buffer.add(new PendingLookup(fullShortUrl, future));
+            if (buffer.size() >= redirectBatchProperties.getMaxBatchSize()) {
+                full = drain();
+            } else if (buffer.size() == 1) {
+                flushTask = timer.schedule(this::flush, redirectBatchProperties.getMaxWaitMicros(), TimeUnit.MICROSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    private void flush() {
+        List<PendingLookup> batch;
+        synchronized (lock) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    private List<PendingLookup> drain() {
+        List<PendingLookup> batch = buffer;
+        buffer = new ArrayList<>();
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<PendingLookup> batch) {
+        for (List<PendingLookup> group : HashModShardingUtil.groupByShard(batch, PendingLookup::fullShortUrl, LINK_GOTO_TABLE_SHARDING_COUNT).values()) {
+            try {
+                queryExecutor.execute(() -> query(group));
+            } catch (Throwable ex) {
+                group.forEach(each -> each.future().completeExceptionally(ex));
+            }
+        }
+    }
+
+    private void query(List<PendingLookup> group) {
+        try {
+            List<String> fullShortUrls = group.stream().map(PendingLookup::fullShortUrl).toList();
+            List<LinkGotoDO> rows = linkGotoMapper.selectList(Wrappers.lambdaQuery(LinkGotoDO.class)
+                    .in(LinkGotoDO::getFullShortUrl, fullShortUrls));
+            Map<String, LinkGotoDO> found = new HashMap<>(rows.size() * 2);
+            rows.forEach(each -> found.put(each.getFullShortUrl(), each));
+            group.forEach(each -> each.future().complete(found.get(each.fullShortUrl())));
+        } catch (Throwable ex) {
+            log.error("Redirect batch query error, size={}", group.size(), ex);
+            group.forEach(each -> each.future().completeExceptionally(ex));
+        }
+    }
+
+    private record PendingLookup(String fullShortUrl, CompletableFuture<LinkGotoDO> future) {}
+}
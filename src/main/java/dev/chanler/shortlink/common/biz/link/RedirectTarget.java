@@ -0,0 +1,25 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import java.util.Date;
+
+/**
+ * 短链接跳转缓存值
+ * @param originUrl 跳转目标 URL
+ * @param expireAt  短链接失效时间戳（毫秒），永久有效为 {@link Long#MAX_VALUE}
+ * @author: Chanler
+ */
+public record RedirectTarget(String originUrl, long expireAt) {
+
+    public static final long NEVER_EXPIRE = Long.MAX_VALUE;
+
+    public static RedirectTarget of(String originUrl, Date validDate) {
+        return new RedirectTarget(originUrl, validDate == null ? NEVER_EXPIRE : validDate.getTime());
+    }
+
+    /**
+     * 距失效的剩余毫秒数，永久有效返回 {@link Long#MAX_VALUE}
+     */
+    public long remainingMillis(long nowMillis) {
+        return expireAt == NEVER_EXPIRE ? NEVER_EXPIRE : Math.max(0L, expireAt - nowMillis);
+    }
+}
@@ -0,0 +1,44 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 跳转缓存逐条过期策略
+ * 每个条目的存活时间 = min(空闲 TTL, 距 validDate 的剩余时间)，到期由 Caffeine 的分层时间轮精确淘汰，
+ * 热点链接过了有效期不会继续从本地缓存跳转，同时不必为所有条目缩短 TTL
+ * @author: Chanler
+ */
+public class RedirectTargetExpiry implements Expiry<String, RedirectTarget> {
+
+    private final long idleTtlNanos;
+
+    public RedirectTargetExpiry(Duration idleTtl) {
+        this.idleTtlNanos = idleTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(String key, RedirectTarget value, long currentTime) {
+        return ttlNanos(value);
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, RedirectTarget value, long currentTime, long currentDuration) {
+        return ttlNanos(value);
+    }
+
+    @Override
+    public long expireAfterRead(String key, RedirectTarget value, long currentTime, long currentDuration) {
+        return ttlNanos(value);
+    }
+
+    private long ttlNanos(RedirectTarget value) {
+        long remainingMillis = value.remainingMillis(System.currentTimeMillis());
+        if (remainingMillis == RedirectTarget.NEVER_EXPIRE) {
+            return idleTtlNanos;
+        }
+        return Math.min(idleTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+    }
+}
@@ -0,0 +1,328 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import dev.chanler.shortlink.common.config.BloomFilterReplicaProperties;
+import io.netty.buffer.ByteBuf;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.redisson.client.codec.Codec;
+import org.redisson.misc.Hash;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.SHORT_LINK_BLOOM_FILTER_FEED_KEY;
+
+/**
+ * 短链接布隆过滤器本地副本
+ * Redis 中的 shortUriCreateCachePenetrationBloomFilter 仍是唯一可信来源，本地只持有其位图的只增副本：
+ * 1. 启动后分块 GETRANGE 拷贝 Redis 位图，并按 Redisson 相同的编码与 hash128 计算位下标，判定结果与 Redis 一致
+ * 2. 本节点新增直接置位，同时写入变更流；其他节点的新增通过轮询变更流合并
+ * 3. 定期全量同步，先记录变更流位置再拷贝位图，拷贝完成后从该位置重放，不丢失同步期间的新增
+ * 副本短暂落后只影响刚创建的链接，而创建时已预热 Redis 跳转缓存，回源会先命中 Redis，不会误判为不存在
+ * 未开启或尚未完成首次同步时退化为直接查询 Redis 布隆过滤器
+ * 批量新增时按相同下标直接 SETBIT，随调用方的管道一次发出
+ * 轮询与全量同步运行在独立的单线程调度器上，全量拷贝位图不占用 Spring 默认调度线程
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkBloomFilterReplica {
+
+    private static final String FEED_FIELD = "u";
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+    private static final long RESYNC_INTERVAL_MILLIS = 1_800_000;
+
+    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BloomFilterReplicaProperties bloomFilterReplicaProperties;
+
+    private volatile Snapshot snapshot;
+    private volatile String feedCursor;
+    private volatile Shape shape;
+
+    private ScheduledExecutorService syncExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (!bloomFilterReplicaProperties.getEnable()) {
+            return;
+        }
+        syncExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "bloom-replica-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(this::resync, 0, RESYNC_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        syncExecutor.scheduleWithFixedDelay(this::pollFeed, POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 判断短链接是否可能存在，副本就绪时不访问网络
+     */
+    public boolean contains(String fullShortUrl) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl);
+        }
+        for (long index : current.shape().indexes(hash(fullShortUrl))) {
+            if (!current.get(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 新增短链接：写入 Redis 布隆过滤器，本地置位并发布到变更流
+     */
+    public void add(String fullShortUrl) {
+        shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
+        if (!bloomFilterReplicaProperties.getEnable()) {
+            return;
+        }
+        applyLocal(fullShortUrl);
+        try {
+            stringRedisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("XADD", feedArgs(fullShortUrl)));
+        } catch (Throwable t) {
+            log.warn("Publish bloom filter feed error, fullShortUrl={}", fullShortUrl, t);
+        }
+    }
+
+    /**
+     * 批量新增：在调用方的管道中直接 SETBIT 并追加变更流，不逐条往返 Redis
+     * 位下标与 RedissonBloomFilter 一致，写入后 Redis 与本地副本的判定结果不变
+     */
+    public void addAll(RedisConnection connection, Collection<String> fullShortUrls) {
+        Shape current = shape();
+        byte[] rawKey = shortUriCreateCachePenetrationBloomFilter.getName().getBytes(StandardCharsets.UTF_8);
+        boolean enable = bloomFilterReplicaProperties.getEnable();
+        for (String fullShortUrl : fullShortUrls) {
+            for (long index : current.indexes(hash(fullShortUrl))) {
+                connection.stringCommands().setBit(rawKey, index, true);
+            }
+            if (enable) {
+                applyLocal(fullShortUrl);
+                connection.execute("XADD", feedArgs(fullShortUrl));
+            }
+        }
+    }
+
+    /**
+     * 每秒拉取一次变更流，合并其他节点的新增
+     */
+    public synchronized void pollFeed() {
+        if (snapshot == null || !bloomFilterReplicaProperties.getEnable()) {
+            return;
+        }
+        try {
+            List<MapRecord<String, Object, Object>> records;
+            do {
+                records = readFeed(feedCursor);
+                if (records == null || records.isEmpty()) {
+                    return;
+                }
+                for (MapRecord<String, Object, Object> record : records) {
+                    Object fullShortUrl = record.getValue().get(FEED_FIELD);
+                    if (fullShortUrl != null) {
+                        applyLocal(fullShortUrl.toString());
+                    }
+                    feedCursor = record.getId().getValue();
+                }
+            } while (records.size() >= bloomFilterReplicaProperties.getFeedBatchSize());
+        } catch (Throwable t) {
+            log.warn("Poll bloom filter feed error, cursor={}", feedCursor, t);
+        }
+    }
+
+    /**
+     * 启动后立即全量同步，此后每 30 分钟一次，兜底变更流被裁剪或拉取失败的情况
+     */
+    public synchronized void resync() {
+        if (!bloomFilterReplicaProperties.getEnable()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            // 先记录变更流位置，此后的新增都会在同步完成后重放
+            String cursor = latestFeedId();
+            Shape current = loadShape();
+            AtomicLongArray words = copyBitmap(shortUriCreateCachePenetrationBloomFilter.getName(), current.size());
+            snapshot = new Snapshot(words, current);
+            feedCursor = cursor;
+            log.info("Bloom filter replica resynced: size={}, hashIterations={}, cost={}ms",
+                    current.size(), current.hashIterations(), System.currentTimeMillis() - start);
+        } catch (Throwable t) {
+            log.error("Bloom filter replica resync error", t);
+        }
+        pollFeed();
+    }
+
+    /**
+     * 从游标之后读取一批变更，只读单个 Stream，泛型可变参数数组不会被污染
+     */
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, Object, Object>> readFeed(String cursor) {
+        return stringRedisTemplate.opsForStream().read(
+                StreamReadOptions.empty().count(bloomFilterReplicaProperties.getFeedBatchSize()),
+                StreamOffset.create(SHORT_LINK_BLOOM_FILTER_FEED_KEY, ReadOffset.from(cursor)));
+    }
+
+    private void applyLocal(String fullShortUrl) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        for (long index : current.shape().indexes(hash(fullShortUrl))) {
+            current.set(index);
+        }
+    }
+
+    private byte[][] feedArgs(String fullShortUrl) {
+        return new byte[][]{
+                SHORT_LINK_BLOOM_FILTER_FEED_KEY.getBytes(StandardCharsets.UTF_8),
+                "MAXLEN".getBytes(StandardCharsets.UTF_8),
+                "~".getBytes(StandardCharsets.UTF_8),
+                String.valueOf(bloomFilterReplicaProperties.getFeedMaxLen()).getBytes(StandardCharsets.UTF_8),
+                "*".getBytes(StandardCharsets.UTF_8),
+                FEED_FIELD.getBytes(StandardCharsets.UTF_8),
+                fullShortUrl.getBytes(StandardCharsets.UTF_8)
+        };
+    }
+
+    /**
+     * 过滤器容量与哈希次数在 tryInit 后不再变化，首次使用时读取一次
+     */
+    private Shape shape() {
+        Shape current = shape;
+        return current != null ? current : loadShape();
+    }
+
+    private Shape loadShape() {
+        Shape current = new Shape(shortUriCreateCachePenetrationBloomFilter.getSize(),
+                shortUriCreateCachePenetrationBloomFilter.getHashIterations());
+        shape = current;
+        return current;
+    }
+
+    /**
+     * 与 RedissonBloomFilter 一致：按过滤器 Codec 编码后取 HighwayHash 128 位
+     */
+    private long[] hash(String value) {
+        Codec codec = shortUriCreateCachePenetrationBloomFilter.getCodec();
+        ByteBuf state;
+        try {
+            state = codec.getValueEncoder().encode(value);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+        try {
+            return Hash.hash128(state);
+        } finally {
+            state.release();
+        }
+    }
+
+    private String latestFeedId() {
+        List<MapRecord<String, Object, Object>> latest = stringRedisTemplate.opsForStream()
+                .reverseRange(SHORT_LINK_BLOOM_FILTER_FEED_KEY, Range.unbounded(), Limit.limit().count(1));
+        return latest == null || latest.isEmpty() ? "0-0" : latest.get(0).getId().getValue();
+    }
+
+    private AtomicLongArray copyBitmap(String bitmapKey, long size) {
+        byte[] rawKey = bitmapKey.getBytes(StandardCharsets.UTF_8);
+        long totalBytes = (size + 7) >>> 3;
+        AtomicLongArray words = new AtomicLongArray((int) ((size + 63) >>> 6));
+        Long strLen = stringRedisTemplate.execute((RedisCallback<Long>) connection -> connection.stringCommands().strLen(rawKey));
+        long readableBytes = Math.min(totalBytes, strLen == null ? 0L : strLen);
+        int chunkBytes = bloomFilterReplicaProperties.getResyncChunkBytes() & ~7;
+        for (long offset = 0; offset < readableBytes; offset += chunkBytes) {
+            long from = offset;
+            long to = Math.min(offset + chunkBytes, readableBytes) - 1;
+            byte[] chunk = stringRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().getRange(rawKey, from, to));
+            if (chunk == null || chunk.length == 0) {
+                break;
+            }
+            int wordIndex = (int) (offset >>> 3);
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            while (buffer.remaining() >= Long.BYTES) {
+                words.set(wordIndex++, buffer.getLong());
+            }
+            if (buffer.hasRemaining()) {
+                // 位图末尾不足 8 字节，低位补零
+                long tail = 0L;
+                int shift = 56;
+                while (buffer.hasRemaining()) {
+                    tail |= (buffer.get() & 0xFFL) << shift;
+                    shift -= 8;
+                }
+                words.set(wordIndex, tail);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * 过滤器形状，位下标计算与 RedissonBloomFilter 一致
+     */
+    private record Shape(long size, int hashIterations) {
+
+        long[] indexes(long[] hash) {
+            long[] indexes = new long[hashIterations];
+            long hash1 = hash[0];
+            long hash2 = hash[1];
+            long combined = hash1;
+            for (int i = 0; i < hashIterations; i++) {
+                indexes[i] = (combined & Long.MAX_VALUE) % size;
+                if (i % 2 == 0) {
+                    combined += hash2;
+                } else {
+                    combined += hash1;
+                }
+            }
+            return indexes;
+        }
+    }
+
+    /**
+     * 位图副本，位序与 Redis SETBIT 一致：偏移 0 为首字节最高位，按大端拼成 long
+     */
+    private record Snapshot(AtomicLongArray words, Shape shape) {
+
+        boolean get(long index) {
+            return (words.get((int) (index >>> 6)) & (Long.MIN_VALUE >>> (index & 63))) != 0;
+        }
+
+        void set(long index) {
+            long mask = Long.MIN_VALUE >>> (index & 63);
+            words.accumulateAndGet((int) (index >>> 6), mask, (prev, bit) -> prev | bit);
+        }
+    }
+}
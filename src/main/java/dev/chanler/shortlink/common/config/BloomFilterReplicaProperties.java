@@ -0,0 +1,36 @@
+package dev.chanler.shortlink.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接布隆过滤器本地副本配置
+ * @author: Chanler
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.bloom-replica")
+public class BloomFilterReplicaProperties {
+
+    /**
+     * 是否开启本地副本
+     * 副本按 Redis 位图等大小常驻堆内存，默认 tryInit(1亿, 0.001) 约占 172MB，需确认堆空间后再开启
+     */
+    private Boolean enable = false;
+
+    /**
+     * 变更流最大保留条数（XADD MAXLEN ~）
+     */
+    private long feedMaxLen = 100_000;
+
+    /**
+     * 单次拉取变更流的最大条数
+     */
+    private int feedBatchSize = 1000;
+
+    /**
+     * 全量同步时单次 GETRANGE 读取的字节数
+     */
+    private int resyncChunkBytes = 1 << 20;
+}
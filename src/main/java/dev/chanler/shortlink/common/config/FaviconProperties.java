@@ -0,0 +1,55 @@
+package dev.chanler.shortlink.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 站点 favicon 异步补全配置
+ * @author: Chanler
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.favicon")
+public class FaviconProperties {
+
+    /**
+     * 同时进行的站点抓取数量上限
+     */
+    private int maxConcurrency = 16;
+
+    /**
+     * 待补全任务排队上限，超出后丢弃并保留空图标
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * 建连超时
+     */
+    private long connectTimeoutMillis = 2000;
+
+    /**
+     * 单次请求超时（含读取响应）
+     */
+    private long requestTimeoutMillis = 3000;
+
+    /**
+     * 已解析图标的缓存时间
+     */
+    private long cacheTtlHours = 24;
+
+    /**
+     * 站点无可用图标时的缓存时间
+     */
+    private long negativeCacheTtlMinutes = 30;
+
+    /**
+     * 已解析图标在本地缓存中的时间，过期后回源 Redis
+     */
+    private long localCacheTtlMinutes = 60;
+
+    /**
+     * 本地缓存站点数量上限
+     */
+    private long localCacheSize = 10_000;
+}
@@ -26,7 +26,13 @@ public class GotoDomainWhiteListConfiguration {
     private String names;
 
     /**
-     * 可跳转的原始链接域名
+     * 可跳转的原始链接域名，规则同时匹配其所有子域名
      */
     private List<String> details;
+
+    /**
+     * 禁止跳转的原始链接域名，不论白名单是否开启都会生效
+     * 与 details 同时匹配时以更具体（更长）的规则为准
+     */
+    private List<String> denies;
 }
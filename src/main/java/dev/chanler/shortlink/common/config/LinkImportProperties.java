@@ -0,0 +1,50 @@
+package dev.chanler.shortlink.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接批量导入任务配置
+ * @author: Chanler
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.import")
+public class LinkImportProperties {
+
+    /**
+     * 上传文件与结果文件的本地目录
+     */
+    private String workDir = System.getProperty("java.io.tmpdir") + "/short-link-import";
+
+    /**
+     * 单个上传文件大小上限，单位：字节
+     */
+    private long maxFileBytes = 512L * 1024 * 1024;
+
+    /**
+     * 每批创建的行数，一批预留一次短码、提交一次事务
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 同时执行的导入任务数量
+     */
+    private int concurrency = 2;
+
+    /**
+     * 等待执行的导入任务排队上限
+     */
+    private int queueCapacity = 16;
+
+    /**
+     * 单个用户同时进行中的导入任务数量上限
+     */
+    private int maxRunningJobsPerUser = 2;
+
+    /**
+     * 任务状态与结果文件保留时间
+     */
+    private long retentionHours = 24;
+}
@@ -1,47 +1,89 @@
 package dev.chanler.shortlink.common.config;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import dev.chanler.shortlink.common.biz.link.RedirectCacheLoader;
+import dev.chanler.shortlink.common.biz.link.RedirectTarget;
+import dev.chanler.shortlink.common.biz.link.RedirectTargetExpiry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 本地缓存配置
  * 包含短链接跳转相关的本地缓存：
- * 1. redirectLockCache: 本地每键互斥锁，避免跳转热点使用分布式锁导致尾延迟放大
- * 2. redirectCache: 短链接跳转目标 URL 缓存，减少 Redis 网络往返
+ * 1. redirectLoadExecutor: 跳转缓存回源线程池，Redis/DB 加载不占用 Caffeine 默认的 ForkJoinPool
+ * 2. redirectCache: 短链接跳转目标 URL 缓存，并发未命中合并为单次加载，过期前后台刷新，按 validDate 逐条过期
+ * 3. redirectNullCache: 不存在短链接的本地空值缓存，拦截扫描流量，避免每次都访问 Redis
  */
 @Configuration
 public class LocalCacheConfiguration {
 
     /**
-     * 跳转路径本地互斥锁缓存
-     * key: fullShortUrl, value: ReentrantLock
-     * 设计目标：避免跳转热点 Key 的分布式锁放大故障域与尾延迟
+     * 跳转缓存回源线程池
+     * 队列满时由调用线程执行加载，退化为同步回源而不是拒绝跳转
      */
-    @Bean(name = "redirectLockCache")
-    public Cache<String, ReentrantLock> redirectLockCache() {
-        return Caffeine.newBuilder()
-                .expireAfterAccess(Duration.ofSeconds(60))
-                .initialCapacity(1024)
-                .maximumSize(8096)
-                .recordStats()
-                .build();
+    @Bean(name = "redirectLoadExecutor", destroyMethod = "shutdown")
+    public ExecutorService redirectLoadExecutor() {
+        AtomicInteger index = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                8,
+                32,
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1024),
+                runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setName("redirect-loader-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
     }
 
     /**
      * 短链接跳转目标 URL 本地缓存
-     * key: fullShortUrl, value: originUrl
-     * 设计目标：减少 Redis 网络往返，提升热点短链接跳转性能
+     * key: fullShortUrl, value: originUrl + 失效时间
+     * 设计目标：
+     * 1. 同一 key 的并发未命中共享同一个加载 Future，只产生一次 Redis/DB 回源（替代每键 ReentrantLock）
+     * 2. 写入超过 refreshAfterWrite 后的首次访问触发后台刷新，刷新期间继续返回旧值，热点链接不阻塞
+     * 3. 空闲 1 小时过期，且不晚于短链接 validDate，系统调度器在到期时主动清理
+     * 4. 变更由 LocalCacheInvalidator 广播到所有节点即时失效，refreshAfterWrite 兜底丢失的广播
      */
     @Bean(name = "redirectCache")
-    public Cache<String, String> redirectCache() {
+    public AsyncLoadingCache<String, RedirectTarget> redirectCache(RedirectCacheLoader redirectCacheLoader,
+                                                           @Qualifier("redirectLoadExecutor") ExecutorService redirectLoadExecutor) {
         return Caffeine.newBuilder()
                 .maximumSize(10_000)
-                .expireAfterAccess(Duration.ofMinutes(5))
+                .expireAfter(new RedirectTargetExpiry(Duration.ofHours(1)))
+                .scheduler(Scheduler.systemScheduler())
+                .refreshAfterWrite(Duration.ofMinutes(1))
+                .executor(redirectLoadExecutor)
+                .recordStats()
+                .buildAsync(redirectCacheLoader);
+    }
+
+    /**
+     * 不存在短链接的本地空值缓存
+     * key: fullShortUrl, value: 恒为 TRUE
+     * 由 RedirectCacheLoader 在判定不存在时写入，与 Redis 空值 Key 同步；
+     * 新建、恢复、修改有效期时经 LocalCacheInvalidator 广播清除，TTL 短于 Redis 空值 Key 的 30 分钟，限制错过广播时的不一致窗口
+     */
+    @Bean(name = "redirectNullCache")
+    public Cache<String, Boolean> redirectNullCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMinutes(5))
                 .recordStats()
                 .build();
     }
@@ -35,4 +35,11 @@ public class RateLimitConfiguration {
                 ? RateLimiter.create(p.getStats().getRps())
                 : unlimitedRateLimiter();
     }
+
+    @Bean("importRateLimiter")
+    public RateLimiter importRateLimiter(RateLimitProperties p) {
+        return Boolean.TRUE.equals(p.getImportRows().getEnable())
+                ? RateLimiter.create(p.getImportRows().getRps())
+                : unlimitedRateLimiter();
+    }
 }
@@ -16,6 +16,10 @@ public class RateLimitProperties {
     private DetailProperties create = new DetailProperties();
     private DetailProperties redirect = new DetailProperties();
     private DetailProperties stats = new DetailProperties();
+    /**
+     * 导入任务按行限流，rps 为每秒创建的行数，任务线程阻塞等待，不使用 timeout
+     */
+    private DetailProperties importRows = new DetailProperties();
 
     @Data
     public static class DetailProperties {
@@ -0,0 +1,30 @@
+package dev.chanler.shortlink.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 跳转回源批量查询配置
+ * @author: Chanler
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.redirect-batch")
+public class RedirectBatchProperties {
+
+    /**
+     * 单批最多合并的短链接数量，达到后立即发出查询；为 1 时等价于逐条查询
+     */
+    private int maxBatchSize = 128;
+
+    /**
+     * 首个未命中入队后最多等待的时间（微秒）
+     */
+    private long maxWaitMicros = 300;
+
+    /**
+     * 批量查询线程数，即同时占用的数据库连接上限
+     */
+    private int queryThreads = 8;
+}
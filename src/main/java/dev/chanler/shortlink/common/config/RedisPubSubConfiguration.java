@@ -0,0 +1,30 @@
+package dev.chanler.shortlink.common.config;
+
+import dev.chanler.shortlink.common.biz.link.LocalCacheInvalidator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.LOCAL_CACHE_INVALIDATE_CHANNEL;
+
+/**
+ * Redis Pub/Sub 配置
+ * @author: Chanler
+ */
+@Configuration
+public class RedisPubSubConfiguration {
+
+    /**
+     * 订阅本地缓存失效广播，每个节点各自订阅
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                       LocalCacheInvalidator localCacheInvalidator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(localCacheInvalidator, new ChannelTopic(LOCAL_CACHE_INVALIDATE_CHANNEL));
+        return container;
+    }
+}
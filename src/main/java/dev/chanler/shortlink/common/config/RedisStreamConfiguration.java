@@ -2,6 +2,8 @@ package dev.chanler.shortlink.common.config;
 
 import dev.chanler.shortlink.mq.consumer.LinkStatsSaveConsumer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -56,7 +58,7 @@ public class RedisStreamConfiguration {
 
     @Bean(initMethod = "start", destroyMethod = "stop")
     public StreamMessageListenerContainer<String, MapRecord<String, String, String>> streamMessageListenerContainer(
-            ExecutorService asyncStreamConsumer) {
+            @Qualifier("asyncStreamConsumer") ExecutorService asyncStreamConsumer) {
         StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
                 StreamMessageListenerContainer.StreamMessageListenerContainerOptions
                         .builder()
@@ -68,9 +70,10 @@ public class RedisStreamConfiguration {
     }
 
     @Bean(destroyMethod = "cancel")
+    @ConditionalOnProperty(prefix = "short-link.stats-consumer.batch", name = "enable", havingValue = "false", matchIfMissing = true)
     public Subscription shortLinkStatsSaveConsumerSubscription(
             StreamMessageListenerContainer<String, MapRecord<String, String, String>> streamMessageListenerContainer) {
-        // 多线程消费者 + LinkedBlockingQueue + 批量拉取
+        // 多线程消费者 + LinkedBlockingQueue + 批量拉取，开启批量消费时由 LinkStatsBatchPoller 接管
         StreamMessageListenerContainer.StreamReadRequest<String> streamReadRequest =
                 StreamMessageListenerContainer.StreamReadRequest.builder(
                                 StreamOffset.create(SHORT_LINK_STATS_STREAM_TOPIC_KEY, ReadOffset.lastConsumed()))
@@ -0,0 +1,66 @@
+package dev.chanler.shortlink.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接统计消息消费者配置
+ * @author: Chanler
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats-consumer")
+public class StatsConsumerProperties {
+
+    /**
+     * 批量消费，关闭时沿用监听容器逐条消费
+     */
+    private BatchProperties batch = new BatchProperties();
+
+    @Data
+    public static class BatchProperties {
+
+        /**
+         * 是否开启批量消费：一次拉取多条消息，按各统计表唯一键合并后每张表一条多行 upsert，再整批 ACK
+         */
+        private Boolean enable = false;
+
+        /**
+         * 单次 XREADGROUP 拉取的最大消息数
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * 无消息时 XREADGROUP 的阻塞时间
+         */
+        private long blockMillis = 500;
+
+        /**
+         * 拉取线程数
+         */
+        private int threads = 2;
+
+        /**
+         * 单批写库的事务超时时间（向上取整到秒），超时整批回滚，消息留在 Pending 等待巡检重试
+         */
+        private long writeTimeoutMillis = 5000;
+
+        /**
+         * 最大投递次数，巡检认领时超过该次数的消息不再重试，转入死信队列并 ACK
+         */
+        private int maxDeliveries = 5;
+
+        /**
+         * 是否在数据库侧去重：已消费的 Stream ID 与整批统计在同一事务内写入 t_link_stats_consumed，
+         * 提交后一次 XACK，重投的消息不会重复计数；关闭时使用 Redis 幂等标记
+         * 仅 PV 与各维度计数是恰好一次：UV / UIP 由 HLL 在事务外计算，回滚后的增量只在进程内暂存重试，进程退出则少计
+         */
+        private Boolean dbDedup = true;
+
+        /**
+         * 消费记录保留时长，须远大于 Pending 巡检的认领间隔
+         */
+        private int consumedRetentionHours = 24;
+    }
+}
@@ -0,0 +1,102 @@
+package dev.chanler.shortlink.common.config;
+
+import dev.chanler.shortlink.common.enums.StatsOverflowPolicyEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接统计事件生产者配置
+ * @author: Chanler
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats-producer")
+public class StatsProducerProperties {
+
+    /**
+     * 是否异步发送：跳转线程只写入本地环形缓冲区，由后台线程批量 XADD
+     * 关闭时每次跳转同步 XADD，Redis 异常会导致跳转失败
+     */
+    private Boolean async = false;
+
+    /**
+     * 环形缓冲区容量，向上取整为 2 的幂
+     */
+    private int bufferSize = 65536;
+
+    /**
+     * 单个管道最多发送的事件数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 缓冲区为空时后台线程的休眠间隔
+     */
+    private long flushIntervalMillis = 5;
+
+    /**
+     * 统计 Stream 的近似长度上限（XADD MAXLEN ~），小于等于 0 时不裁剪
+     * 只作为兜底上限，须远大于正常的消费积压，否则会裁掉未消费的消息
+     */
+    private long maxLen = 1_000_000;
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    private StatsOverflowPolicyEnum overflowPolicy = StatsOverflowPolicyEnum.DROP;
+
+    /**
+     * SAMPLE 策略下超过高水位后的写入比例
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * SAMPLE 策略的高水位，占缓冲区容量的比例
+     */
+    private double sampleHighWatermark = 0.75;
+
+    /**
+     * BLOCK 策略下的最长等待时间
+     */
+    private long blockTimeoutMillis = 10;
+
+    /**
+     * 批次发送失败后的最大重试次数，超过后丢弃该批
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 停机时等待缓冲区发送完毕的最长时间
+     */
+    private long shutdownTimeoutMillis = 5000;
+
+    /**
+     * 生产端窗口聚合，仅异步模式生效
+     */
+    private AggregateProperties aggregate = new AggregateProperties();
+
+    @Data
+    public static class AggregateProperties {
+
+        /**
+         * 是否开启聚合：同一窗口内维度相同的访问合并为一条消息，访问日志只保留样本
+         */
+        private Boolean enable = false;
+
+        /**
+         * 聚合窗口长度，须整除一小时
+         */
+        private long windowMillis = 1000;
+
+        /**
+         * 每条聚合消息保留的原始访问样本数，用于写入访问日志
+         */
+        private int maxSamples = 20;
+
+        /**
+         * 单个窗口最多的聚合键数量，达到后提前输出
+         */
+        private int maxKeys = 10000;
+    }
+}
@@ -0,0 +1,60 @@
+package dev.chanler.shortlink.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * URL 标题获取配置
+ * @author: Chanler
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.title")
+public class UrlTitleProperties {
+
+    /**
+     * 全局同时进行的页面抓取数量上限，超出时直接返回空标题且不缓存
+     */
+    private int maxConcurrency = 32;
+
+    /**
+     * 建连超时
+     */
+    private long connectTimeoutMillis = 2000;
+
+    /**
+     * 单次抓取超时（含读取页面头部）
+     */
+    private long requestTimeoutMillis = 3000;
+
+    /**
+     * 每个页面最多读取的字节数，标题与 meta charset 一般位于页面开头
+     */
+    private int maxHtmlBytes = 32 * 1024;
+
+    /**
+     * 已解析标题的缓存时间
+     */
+    private long cacheTtlHours = 24;
+
+    /**
+     * 页面无标题或抓取失败时的缓存时间
+     */
+    private long negativeCacheTtlMinutes = 10;
+
+    /**
+     * 已解析标题在本地缓存中的时间，过期后回源 Redis
+     */
+    private long localCacheTtlMinutes = 60;
+
+    /**
+     * 本地缓存 URL 数量上限
+     */
+    private long localCacheSize = 10_000;
+
+    /**
+     * 批量获取单次请求的 URL 数量上限
+     */
+    private int maxBatchSize = 50;
+}
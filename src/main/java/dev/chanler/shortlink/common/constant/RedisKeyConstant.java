@@ -42,6 +42,46 @@ public class RedisKeyConstant {
      */
     public static final String LOCK_GOTO_SHORT_LINK_KEY = "short-link:lock:goto:%s";
 
+    /**
+     * 本地缓存失效广播频道（Pub/Sub），消息体为 fullShortUrl
+     */
+    public static final String LOCAL_CACHE_INVALIDATE_CHANNEL = "short-link:channel:local-cache-invalidate";
+
+    /**
+     * 短链接布隆过滤器新增变更流，供各节点本地副本增量同步
+     */
+    public static final String SHORT_LINK_BLOOM_FILTER_FEED_KEY = "short-link:bloom-filter:add-feed";
+
+    /**
+     * 站点 favicon 缓存，按站点（host[:port]）共享，空字符串表示该站点没有可用图标
+     * 格式：short-link:favicon:{site}
+     */
+    public static final String FAVICON_CACHE_KEY = "short-link:favicon:%s";
+
+    /**
+     * 页面标题缓存，按规范化 URL 区分，空字符串表示页面没有可用标题
+     * 格式：short-link:title:{normalizedUrl}
+     */
+    public static final String URL_TITLE_CACHE_KEY = "short-link:title:%s";
+
+    /**
+     * 原始链接去重索引
+     * 格式：short-link:dedup:{gid}:{originUrlHash}
+     */
+    public static final String ORIGIN_URL_DEDUP_KEY = "short-link:dedup:%s:%s";
+
+    /**
+     * 短链接导入任务状态（Hash）
+     * 格式：short-link:import:job:{jobId}
+     */
+    public static final String LINK_IMPORT_JOB_KEY = "short-link:import:job:%s";
+
+    /**
+     * 用户进行中的导入任务数量
+     * 格式：short-link:import:running:{username}
+     */
+    public static final String LINK_IMPORT_RUNNING_KEY = "short-link:import:running:%s";
+
     /**
      * 短链接修改分组 ID 锁前缀 Key
      * 格式：short-link:lock:update-gid:{fullShortUrl}
@@ -54,6 +94,12 @@ public class RedisKeyConstant {
      */
     public static final String SHORT_CODE_ALLOCATION_KEY = "short-link:allocation:global";
 
+    /**
+     * 命名空间短码号段分配计数器
+     * 格式：short-link:allocation:ns:{namespace}
+     */
+    public static final String SHORT_CODE_NAMESPACE_ALLOCATION_KEY = "short-link:allocation:ns:%s";
+
     /**
      * 短链接幂等操作锁前缀 key
      * 格式：short-link:idempotent:{messageId}
@@ -70,6 +116,11 @@ public class RedisKeyConstant {
      */
     public static final String SHORT_LINK_STATS_STREAM_GROUP_KEY = "short-link:stats-stream:only-group";
 
+    /**
+     * 短链接监控消息死信队列，单独处理仍失败或超过最大投递次数的消息转入此处
+     */
+    public static final String SHORT_LINK_STATS_STREAM_DEAD_LETTER_KEY = "short-link:stats-stream:dead-letter";
+
     /**
      * GID 反向归属索引（旧方案，废弃）
      * 格式：short-link:gid-owner:{gid} -> username
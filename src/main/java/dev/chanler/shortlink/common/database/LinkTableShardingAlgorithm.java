@@ -0,0 +1,125 @@
+package dev.chanler.shortlink.common.database;
+
+import cn.hutool.core.util.StrUtil;
+import dev.chanler.shortlink.toolkit.HashModShardingUtil;
+import org.apache.shardingsphere.sharding.api.sharding.complex.ComplexKeysShardingAlgorithm;
+import org.apache.shardingsphere.sharding.api.sharding.complex.ComplexKeysShardingValue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static dev.chanler.shortlink.toolkit.HashModShardingUtil.LINK_TABLE_SHARDING_COUNT;
+
+/**
+ * t_link 复合分片算法（gid, full_short_url）
+ * 普通分组与 HASH_MOD(gid) 完全一致；热点分组（如匿名创建统一使用的 public 分组）以 HASH_MOD(gid) 为基准表，
+ * 再按 full_short_url 哈希打散到基准表起连续的 spread 张表：
+ * 1. 同时带 gid 与 full_short_url 的写入、更新与统计累加只落一张表
+ * 2. 只带 gid 的分页、计数查询落到该分组的 spread 张表，普通分组仍只落一张表
+ * 3. 不带 gid 时全表路由
+ * 通过 CLASS_BASED 配置，props：sharding-count 分片数量，hot-gid-spreads 热点分组打散表数量（gid:spread,gid:spread）
+ * 修改某个分组的 spread 会改变其已有数据的落表位置，须先迁移该分组的存量数据
+ * @author: Chanler
+ */
+public final class LinkTableShardingAlgorithm implements ComplexKeysShardingAlgorithm<Comparable<?>> {
+
+    private static final String GID_COLUMN = "gid";
+    private static final String FULL_SHORT_URL_COLUMN = "full_short_url";
+
+    /**
+     * 当前生效的分片规则，供批量写入时在应用侧按真实表分组；ShardingSphere 初始化前等价于 HASH_MOD(gid)
+     */
+    private static volatile Rule rule = new Rule(LINK_TABLE_SHARDING_COUNT, Map.of());
+
+    @Override
+    public void init(Properties props) {
+        int shardingCount = Integer.parseInt(props.getProperty("sharding-count", String.valueOf(LINK_TABLE_SHARDING_COUNT)));
+        Map<String, Integer> spreads = new HashMap<>();
+        for (String each : StrUtil.splitTrim(props.getProperty("hot-gid-spreads", ""), ',')) {
+            int colon = each.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("invalid hot-gid-spreads entry: " + each);
+            }
+            int spread = Integer.parseInt(each.substring(colon + 1).trim());
+            if (spread < 1 || spread > shardingCount) {
+                throw new IllegalArgumentException("spread must be in [1, sharding-count], entry: " + each);
+            }
+            spreads.put(each.substring(0, colon).trim(), spread);
+        }
+        rule = new Rule(shardingCount, Map.copyOf(spreads));
+    }
+
+    @Override
+    public Collection<String> doSharding(Collection<String> availableTargetNames, ComplexKeysShardingValue<Comparable<?>> shardingValue) {
+        Collection<Comparable<?>> gids = valuesOf(shardingValue, GID_COLUMN);
+        if (gids == null || gids.isEmpty()) {
+            return availableTargetNames;
+        }
+        Collection<Comparable<?>> fullShortUrls = valuesOf(shardingValue, FULL_SHORT_URL_COLUMN);
+        Rule current = rule;
+        Set<Integer> indexes = new LinkedHashSet<>();
+        for (Comparable<?> gid : gids) {
+            int spread = current.spreadOf(gid);
+            if (spread > 1 && fullShortUrls != null && !fullShortUrls.isEmpty()) {
+                fullShortUrls.forEach(fullShortUrl -> indexes.add(current.tableIndexOf(gid, fullShortUrl)));
+            } else {
+                int base = HashModShardingUtil.shardOf(gid, current.shardingCount());
+                for (int i = 0; i < spread; i++) {
+                    indexes.add((base + i) % current.shardingCount());
+                }
+            }
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (int index : indexes) {
+            String suffix = "_" + index;
+            for (String each : availableTargetNames) {
+                if (each.endsWith(suffix)) {
+                    result.add(each);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String getType() {
+        return "LINK_TABLE_COMPLEX";
+    }
+
+    /**
+     * 计算短链接所在的 t_link 真实表下标
+     */
+    public static int tableIndexOf(String gid, String fullShortUrl) {
+        return rule.tableIndexOf(gid, fullShortUrl);
+    }
+
+    private static Collection<Comparable<?>> valuesOf(ComplexKeysShardingValue<Comparable<?>> shardingValue, String column) {
+        for (Map.Entry<String, Collection<Comparable<?>>> entry : shardingValue.getColumnNameAndShardingValuesMap().entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(column)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private record Rule(int shardingCount, Map<String, Integer> spreads) {
+
+        int spreadOf(Object gid) {
+            return spreads.getOrDefault(String.valueOf(gid), 1);
+        }
+
+        int tableIndexOf(Object gid, Object fullShortUrl) {
+            int base = HashModShardingUtil.shardOf(gid, shardingCount);
+            int spread = spreadOf(gid);
+            if (spread <= 1 || fullShortUrl == null) {
+                return base;
+            }
+            return (base + HashModShardingUtil.shardOf(fullShortUrl, spread)) % shardingCount;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package dev.chanler.shortlink.common.enums;
+
+/**
+ * 短链接导入任务状态
+ * @author: Chanler
+ */
+public enum LinkImportJobStatusEnum {
+
+    /**
+     * 已上传，等待执行
+     */
+    PENDING,
+
+    /**
+     * 执行中
+     */
+    RUNNING,
+
+    /**
+     * 已完成，逐行结果见结果文件
+     */
+    SUCCEEDED,
+
+    /**
+     * 任务中止
+     */
+    FAILED
+}
@@ -0,0 +1,23 @@
+package dev.chanler.shortlink.common.enums;
+
+/**
+ * 统计事件异步缓冲区满时的处理策略
+ * @author: Chanler
+ */
+public enum StatsOverflowPolicyEnum {
+
+    /**
+     * 直接丢弃新事件
+     */
+    DROP,
+
+    /**
+     * 缓冲区超过高水位后按 sampleRate 抽样写入，写满后丢弃
+     */
+    SAMPLE,
+
+    /**
+     * 等待至多 blockTimeoutMillis，仍无空位时丢弃
+     */
+    BLOCK
+}
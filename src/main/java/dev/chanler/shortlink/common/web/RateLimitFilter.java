@@ -29,7 +29,7 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private static final Pattern SHORT_URI_PATH = Pattern.compile("^/[A-Za-z0-9]{1,8}$");
+    private static final Pattern SHORT_URI_PATH = Pattern.compile("^/[A-Za-z0-9]{1,10}$");
 
     @Qualifier("createRateLimiter")
     private final RateLimiter createRateLimiter;
@@ -0,0 +1,53 @@
+package dev.chanler.shortlink.controller.admin;
+
+import dev.chanler.shortlink.common.convention.result.Result;
+import dev.chanler.shortlink.common.convention.result.Results;
+import dev.chanler.shortlink.dto.resp.LinkImportJobRespDTO;
+import dev.chanler.shortlink.service.LinkImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 短链接批量导入控制层
+ * @author: Chanler
+ */
+@RestController
+@RequiredArgsConstructor
+public class LinkImportAdminController {
+
+    private final LinkImportService linkImportService;
+
+    /**
+     * 提交导入任务，请求体直接为 CSV（originUrl,describe）或 NDJSON（每行 {"originUrl","describe"}）文件内容
+     * Content-Type 使用 text/csv、application/x-ndjson 或 application/octet-stream，不能是表单类型，否则请求体会被当作表单参数读取
+     * @return 任务标识
+     */
+    @PostMapping("/api/short-link/admin/v1/import")
+    public Result<String> submitImport(@RequestParam("gid") String gid,
+                                       @RequestParam(value = "format", defaultValue = "csv") String format,
+                                       HttpServletRequest request) {
+        return Results.success(linkImportService.submit(gid, format, request));
+    }
+
+    /**
+     * 查询导入任务进度
+     */
+    @GetMapping("/api/short-link/admin/v1/import/{jobId}")
+    public Result<LinkImportJobRespDTO> getImportJob(@PathVariable("jobId") String jobId) {
+        return Results.success(linkImportService.getJob(jobId));
+    }
+
+    /**
+     * 下载导入结果文件
+     */
+    @GetMapping("/api/short-link/admin/v1/import/{jobId}/result")
+    public void downloadImportResult(@PathVariable("jobId") String jobId, HttpServletResponse response) {
+        linkImportService.downloadResult(jobId, response);
+    }
+}
@@ -2,12 +2,17 @@ package dev.chanler.shortlink.controller.core;
 
 import dev.chanler.shortlink.common.convention.result.Result;
 import dev.chanler.shortlink.common.convention.result.Results;
+import dev.chanler.shortlink.dto.req.UrlTitleBatchReqDTO;
 import dev.chanler.shortlink.service.UrlTitleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 /**
  * URL 标题控制层
  * @author: Chanler
@@ -27,4 +32,14 @@ public class UrlTitleController {
     public Result<String> getTitleByUrl(@RequestParam("url") String url) {
         return Results.success(urlTitleService.getTitleByUrl(url));
     }
+
+    /**
+     * 批量获取标题，各 URL 并行抓取
+     * @param urlTitleBatchReqDTO URL 列表
+     * @return Result<Map<String, String>> URL → 标题
+     */
+    @PostMapping("/api/short-link/v1/title/batch")
+    public Result<Map<String, String>> getTitlesByUrls(@RequestBody UrlTitleBatchReqDTO urlTitleBatchReqDTO) {
+        return Results.success(urlTitleService.getTitlesByUrls(urlTitleBatchReqDTO.getUrls()));
+    }
 }
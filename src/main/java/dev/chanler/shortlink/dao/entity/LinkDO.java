@@ -45,6 +45,11 @@ public class LinkDO extends BaseDO {
      */
     private String originUrl;
 
+    /**
+     * 原始链接哈希（规范化后），用于同分组去重查找
+     */
+    private String originUrlHash;
+
     /**
      * 点击量
      */
@@ -6,8 +6,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Date;
+
 /**
  * 短链接跳转实体
+ * 按 full_short_url 分片，冗余跳转所需的原始链接、有效期与状态，跳转回源只需一次单分片查询
+ * 与 t_link 在同一事务内同步维护；origin_url 为空的存量行需回退查询 t_link
  * @author: Chanler
  */
 @Data
@@ -31,4 +35,24 @@ public class LinkGotoDO {
      * 完整短链接
      */
     private String fullShortUrl;
+
+    /**
+     * 原始链接
+     */
+    private String originUrl;
+
+    /**
+     * 有效期
+     */
+    private Date validDate;
+
+    /**
+     * 启用标识 0：启用 1：未启用
+     */
+    private Integer enableStatus;
+
+    /**
+     * 删除标识 0：未删除 1：已删除
+     */
+    private Integer delFlag;
 }
@@ -0,0 +1,31 @@
+package dev.chanler.shortlink.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 已消费统计消息实体
+ * @author: Chanler
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("t_link_stats_consumed")
+public class LinkStatsConsumedDO {
+
+    /**
+     * 统计消息 Stream ID
+     */
+    private String streamId;
+
+    /**
+     * 消费时间
+     */
+    private Date createTime;
+}
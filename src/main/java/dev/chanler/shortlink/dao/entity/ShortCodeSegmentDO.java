@@ -0,0 +1,41 @@
+package dev.chanler.shortlink.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 短码号段实体
+ * @author: Chanler
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("t_shortcode_segment")
+public class ShortCodeSegmentDO {
+
+    /**
+     * ID
+     */
+    private Long id;
+
+    /**
+     * 号段命名空间
+     */
+    private String bizTag;
+
+    /**
+     * 下一个可分配的序号
+     */
+    private Long nextId;
+
+    /**
+     * 修改时间
+     */
+    private Date updateTime;
+}
@@ -7,6 +7,7 @@ import dev.chanler.shortlink.dao.entity.LinkAccessStatsDO;
 import dev.chanler.shortlink.dto.req.GroupStatsAccessRecordReqDTO;
 import dev.chanler.shortlink.dto.req.GroupStatsReqDTO;
 import dev.chanler.shortlink.dto.req.LinkStatsReqDTO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
@@ -148,4 +149,39 @@ public interface LinkAccessLogsMapper extends BaseMapper<LinkAccessLogsDO> {
             """)
     IPage<LinkAccessLogsDO> selectGroupPage(@Param("param") GroupStatsAccessRecordReqDTO groupStatsAccessRecordReqDTO);
 
+    /**
+     * 查询已有访问记录的访客，用于批量写入时计算首访标记
+     * @param accessLogs 待查询的 (fullShortUrl, user) 列表
+     * @return 已存在的 (fullShortUrl, user) 列表
+     */
+    @Select("""
+            <script>
+            SELECT DISTINCT full_short_url, user
+            FROM t_link_access_logs
+            WHERE del_flag = 0
+              AND (full_short_url, user) IN
+            <foreach item="item" collection="list" open="(" separator="," close=")">
+                (#{item.fullShortUrl}, #{item.user})
+            </foreach>
+            </script>
+            """)
+    List<LinkAccessLogsDO> listVisitedUsers(@Param("list") List<LinkAccessLogsDO> accessLogs);
+
+    /**
+     * 批量写入访问日志
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_access_logs (
+                full_short_url, user, ip, browser, os, network, device, locale, first_flag, create_time, update_time, del_flag
+            )
+            VALUES
+            <foreach item="item" collection="list" separator=",">
+                (#{item.fullShortUrl}, #{item.user}, #{item.ip}, #{item.browser}, #{item.os}, #{item.network},
+                 #{item.device}, #{item.locale}, #{item.firstFlag}, NOW(), NOW(), 0)
+            </foreach>
+            </script>
+            """)
+    void insertBatch(@Param("list") List<LinkAccessLogsDO> accessLogs);
+
 }
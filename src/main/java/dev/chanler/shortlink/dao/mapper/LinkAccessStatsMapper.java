@@ -42,6 +42,27 @@ public interface LinkAccessStatsMapper extends BaseMapper<LinkAccessStatsDO> {
             """)
     void shortLinkAccessStats(@Param("linkAccessStats") LinkAccessStatsDO linkAccessStatsDO);
 
+    /**
+     * 批量记录基础访问监控数据，多行合并为一条 INSERT ... ON DUPLICATE KEY UPDATE
+     * 调用方需按唯一键排序，使并发批次以相同顺序加行锁
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_access_stats (
+                full_short_url, date, pv, uv, uip, hour, weekday, create_time, update_time, del_flag
+            )
+            VALUES
+            <foreach item="item" collection="list" separator=",">
+                (#{item.fullShortUrl}, #{item.date}, #{item.pv}, #{item.uv}, #{item.uip}, #{item.hour}, #{item.weekday}, NOW(), NOW(), 0)
+            </foreach>
+            ON DUPLICATE KEY UPDATE
+                pv = pv + VALUES(pv),
+                uv = uv + VALUES(uv),
+                uip = uip + VALUES(uip)
+            </script>
+            """)
+    void shortLinkAccessStatsBatch(@Param("list") List<LinkAccessStatsDO> linkAccessStatsDOList);
+
     /**
      * 根据短链接获取指定日期内基础监控数据
      * @param linkStatsReqDTO 查询参数
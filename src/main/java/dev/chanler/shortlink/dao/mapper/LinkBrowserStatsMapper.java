@@ -36,6 +36,25 @@ public interface LinkBrowserStatsMapper extends BaseMapper<LinkBrowserStatsDO> {
             """)
     void shortLinkBrowserStats(@Param("linkBrowserStats") LinkBrowserStatsDO linkBrowserStatsDO);
 
+    /**
+     * 批量记录浏览器监控数据，多行合并为一条 INSERT ... ON DUPLICATE KEY UPDATE
+     * 调用方需按唯一键排序，使并发批次以相同顺序加行锁
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_browser_stats (
+                full_short_url, date, cnt, browser, create_time, update_time, del_flag
+            )
+            VALUES
+            <foreach item="item" collection="list" separator=",">
+                (#{item.fullShortUrl}, #{item.date}, #{item.cnt}, #{item.browser}, NOW(), NOW(), 0)
+            </foreach>
+            ON DUPLICATE KEY UPDATE
+                cnt = cnt + VALUES(cnt)
+            </script>
+            """)
+    void shortLinkBrowserStatsBatch(@Param("list") List<LinkBrowserStatsDO> linkBrowserStatsDOList);
+
     /**
      * 根据短链接获取指定日期内浏览器监控数据
      * @param linkStatsReqDTO 查询参数
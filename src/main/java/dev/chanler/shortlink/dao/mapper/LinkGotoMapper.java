@@ -2,10 +2,59 @@ package dev.chanler.shortlink.dao.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import dev.chanler.shortlink.dao.entity.LinkGotoDO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Date;
+import java.util.List;
 
 /**
  * 短链接跳转持久层
  * @author: Chanler
  */
 public interface LinkGotoMapper extends BaseMapper<LinkGotoDO> {
+
+    /**
+     * 多值批量插入短链接跳转，调用方需保证同批次落在同一张真实表
+     * @return 受影响的行数
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_goto (gid, full_short_url, origin_url, valid_date, enable_status, del_flag)
+            VALUES
+            <foreach item="item" collection="list" separator=",">
+                (#{item.gid}, #{item.fullShortUrl}, #{item.originUrl}, #{item.validDate}, #{item.enableStatus}, #{item.delFlag})
+            </foreach>
+            </script>
+            """)
+    int insertBatch(@Param("list") List<LinkGotoDO> linkGotoDOList);
+
+    /**
+     * 同步跳转目标与有效期，validDate 为 null 表示永久有效
+     * @return 受影响的行数
+     */
+    @Update("""
+            UPDATE t_link_goto
+            SET origin_url = #{originUrl},
+                valid_date = #{validDate}
+            WHERE full_short_url = #{fullShortUrl}
+            """)
+    int updateTarget(@Param("fullShortUrl") String fullShortUrl,
+                     @Param("originUrl") String originUrl,
+                     @Param("validDate") Date validDate);
+
+    /**
+     * 同步启用与删除状态
+     * @return 受影响的行数
+     */
+    @Update("""
+            UPDATE t_link_goto
+            SET enable_status = #{enableStatus},
+                del_flag = #{delFlag}
+            WHERE full_short_url = #{fullShortUrl}
+            """)
+    int updateStatus(@Param("fullShortUrl") String fullShortUrl,
+                     @Param("enableStatus") Integer enableStatus,
+                     @Param("delFlag") Integer delFlag);
 }
@@ -39,6 +39,25 @@ public interface LinkLocaleStatsMapper extends BaseMapper<LinkLocaleStatsDO> {
             """)
     void shortLinkLocaleStats(@Param("linkLocaleStats") LinkLocaleStatsDO linkLocaleStatsDO);
 
+    /**
+     * 批量记录地区监控数据，多行合并为一条 INSERT ... ON DUPLICATE KEY UPDATE
+     * 调用方需按唯一键排序，使并发批次以相同顺序加行锁
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_locale_stats (
+                full_short_url, date, cnt, country, province, city, adcode, create_time, update_time, del_flag
+            )
+            VALUES
+            <foreach item="item" collection="list" separator=",">
+                (#{item.fullShortUrl}, #{item.date}, #{item.cnt}, #{item.country}, #{item.province}, #{item.city}, #{item.adcode}, NOW(), NOW(), 0)
+            </foreach>
+            ON DUPLICATE KEY UPDATE
+                cnt = cnt + VALUES(cnt)
+            </script>
+            """)
+    void shortLinkLocaleStatsBatch(@Param("list") List<LinkLocaleStatsDO> linkLocaleStatsDOList);
+
     /**
      * 根据短链接获取指定日期内地区监控数据
      * @param linkStatsReqDTO 查询参数
@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import dev.chanler.shortlink.dao.entity.LinkDO;
 import dev.chanler.shortlink.dto.req.LinkPageReqDTO;
 import dev.chanler.shortlink.dto.resp.GroupLinkCountQueryRespDTO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
@@ -36,6 +37,23 @@ public interface LinkMapper extends BaseMapper<LinkDO> {
                        @Param("totalUv") Integer totalUv,
                        @Param("totalUip") Integer totalUip);
 
+    /**
+     * 回写异步补全的 favicon，originUrl 已被修改时不更新
+     * @return 受影响的行数
+     */
+    @Update("""
+            UPDATE t_link
+            SET favicon = #{favicon}
+            WHERE gid = #{gid}
+              AND full_short_url = #{fullShortUrl}
+              AND origin_url = #{originUrl}
+              AND del_flag = 0
+            """)
+    int updateFavicon(@Param("gid") String gid,
+                      @Param("fullShortUrl") String fullShortUrl,
+                      @Param("originUrl") String originUrl,
+                      @Param("favicon") String favicon);
+
     /**
      * 分页统计短链接
      */
@@ -76,4 +94,25 @@ public interface LinkMapper extends BaseMapper<LinkDO> {
             </script>
             """)
     List<GroupLinkCountQueryRespDTO> listGroupLinkCount(@Param("gidList") List<String> gidList);
+
+    /**
+     * 多值批量插入短链接，调用方需保证同批次落在同一张真实表
+     * @return 受影响的行数
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link (
+                domain, short_uri, full_short_url, origin_url, origin_url_hash, gid, favicon, enable_status, created_type,
+                valid_date_type, valid_date, `describe`, total_pv, total_uv, total_uip, del_time,
+                create_time, update_time, del_flag
+            )
+            VALUES
+            <foreach item="item" collection="list" separator=",">
+                (#{item.domain}, #{item.shortUri}, #{item.fullShortUrl}, #{item.originUrl}, #{item.originUrlHash}, #{item.gid}, #{item.favicon},
+                 #{item.enableStatus}, #{item.createdType}, #{item.validDateType}, #{item.validDate}, #{item.describe},
+                 #{item.totalPv}, #{item.totalUv}, #{item.totalUip}, #{item.delTime}, NOW(), NOW(), 0)
+            </foreach>
+            </script>
+            """)
+    int insertBatch(@Param("list") List<LinkDO> linkDOList);
 }
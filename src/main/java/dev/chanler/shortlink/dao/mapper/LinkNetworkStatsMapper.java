@@ -36,6 +36,25 @@ public interface LinkNetworkStatsMapper extends BaseMapper<LinkNetworkStatsDO> {
             """)
     void shortLinkNetworkStats(@Param("linkNetworkStats") LinkNetworkStatsDO linkNetworkStatsDO);
 
+    /**
+     * 批量记录访问网络监控数据，多行合并为一条 INSERT ... ON DUPLICATE KEY UPDATE
+     * 调用方需按唯一键排序，使并发批次以相同顺序加行锁
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_network_stats (
+                full_short_url, date, cnt, network, create_time, update_time, del_flag
+            )
+            VALUES
+            <foreach item="item" collection="list" separator=",">
+                (#{item.fullShortUrl}, #{item.date}, #{item.cnt}, #{item.network}, NOW(), NOW(), 0)
+            </foreach>
+            ON DUPLICATE KEY UPDATE
+                cnt = cnt + VALUES(cnt)
+            </script>
+            """)
+    void shortLinkNetworkStatsBatch(@Param("list") List<LinkNetworkStatsDO> linkNetworkStatsDOList);
+
     /**
      * 根据短链接获取指定日期内访问网络监控数据
      * @param linkStatsReqDTO 查询参数
@@ -37,6 +37,25 @@ public interface LinkOsStatsMapper extends BaseMapper<LinkOsStatsDO> {
             """)
     void shortLinkOsStats(@Param("linkOsStats") LinkOsStatsDO linkOsStatsDO);
 
+    /**
+     * 批量记录操作系统监控数据，多行合并为一条 INSERT ... ON DUPLICATE KEY UPDATE
+     * 调用方需按唯一键排序，使并发批次以相同顺序加行锁
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_os_stats (
+                full_short_url, date, cnt, os, create_time, update_time, del_flag
+            )
+            VALUES
+            <foreach item="item" collection="list" separator=",">
+                (#{item.fullShortUrl}, #{item.date}, #{item.cnt}, #{item.os}, NOW(), NOW(), 0)
+            </foreach>
+            ON DUPLICATE KEY UPDATE
+                cnt = cnt + VALUES(cnt)
+            </script>
+            """)
+    void shortLinkOsStatsBatch(@Param("list") List<LinkOsStatsDO> linkOsStatsDOList);
+
     /**
      * 根据短链接获取指定日期内操作系统监控数据
      * @param linkStatsReqDTO 查询参数
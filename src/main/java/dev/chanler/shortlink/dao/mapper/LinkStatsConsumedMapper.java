@@ -0,0 +1,54 @@
+package dev.chanler.shortlink.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import dev.chanler.shortlink.dao.entity.LinkStatsConsumedDO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 已消费统计消息持久层
+ * @author: Chanler
+ */
+public interface LinkStatsConsumedMapper extends BaseMapper<LinkStatsConsumedDO> {
+
+    /**
+     * 查询已消费的 Stream ID
+     */
+    @Select("""
+            <script>
+            SELECT stream_id
+            FROM t_link_stats_consumed
+            WHERE stream_id IN
+            <foreach item="item" collection="list" open="(" separator="," close=")">
+                #{item}
+            </foreach>
+            </script>
+            """)
+    List<String> listConsumed(@Param("list") List<String> streamIds);
+
+    /**
+     * 批量记录已消费的 Stream ID，主键冲突说明并发消费了同一消息，事务回滚后整批重试
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_stats_consumed (stream_id, create_time)
+            VALUES
+            <foreach item="item" collection="list" separator=",">
+                (#{item}, NOW())
+            </foreach>
+            </script>
+            """)
+    void insertBatch(@Param("list") List<String> streamIds);
+
+    /**
+     * 删除指定时间之前的消费记录
+     * @return 删除的行数
+     */
+    @Delete("DELETE FROM t_link_stats_consumed WHERE create_time < #{before} LIMIT #{limit}")
+    int deleteBefore(@Param("before") Date before, @Param("limit") int limit);
+}
@@ -0,0 +1,37 @@
+package dev.chanler.shortlink.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import dev.chanler.shortlink.dao.entity.ShortCodeSegmentDO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 短码号段持久层
+ * @author: Chanler
+ */
+public interface ShortCodeSegmentMapper extends BaseMapper<ShortCodeSegmentDO> {
+
+    /**
+     * 查询下一个可分配的序号
+     */
+    @Select("SELECT next_id FROM t_shortcode_segment WHERE biz_tag = #{bizTag}")
+    Long selectNextId(@Param("bizTag") String bizTag);
+
+    /**
+     * 初始化号段行，已存在则忽略
+     */
+    @Insert("INSERT IGNORE INTO t_shortcode_segment (biz_tag, next_id, update_time) VALUES (#{bizTag}, #{nextId}, NOW())")
+    int insertIgnore(@Param("bizTag") String bizTag, @Param("nextId") long nextId);
+
+    /**
+     * 以当前 next_id 为期望值推进 step，返回 1 表示领取成功
+     */
+    @Update("""
+            UPDATE t_shortcode_segment
+            SET next_id = next_id + #{step}, update_time = NOW()
+            WHERE biz_tag = #{bizTag} AND next_id = #{expectNextId}
+            """)
+    int casAdvance(@Param("bizTag") String bizTag, @Param("expectNextId") long expectNextId, @Param("step") long step);
+}
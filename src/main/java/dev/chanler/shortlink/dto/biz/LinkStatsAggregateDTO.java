@@ -0,0 +1,97 @@
+package dev.chanler.shortlink.dto.biz;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 短链接统计聚合实体
+ * 同一窗口内 (fullShortUrl, os, browser, device) 相同的访问合并为一条，地区与网络按 IP 在消费端解析
+ * @author: Chanler
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinkStatsAggregateDTO {
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+
+    /**
+     * 操作系统
+     */
+    private String os;
+
+    /**
+     * 浏览器
+     */
+    private String browser;
+
+    /**
+     * 操作设备
+     */
+    private String device;
+
+    /**
+     * 窗口起始时间，决定统计日期与小时
+     */
+    private Date currentDate;
+
+    /**
+     * 访问次数
+     */
+    private Integer pv;
+
+    /**
+     * 窗口内去重的访客标识
+     */
+    private List<String> users;
+
+    /**
+     * 窗口内各 IP 的访问次数
+     */
+    private Map<String, Integer> ips;
+
+    /**
+     * 用于写入访问日志的原始访问样本
+     */
+    private List<LinkStatsRecordDTO> samples;
+
+    /**
+     * 单条访问转为聚合形式，消费端统一处理
+     */
+    public static LinkStatsAggregateDTO of(LinkStatsRecordDTO statsRecord) {
+        List<String> users = new ArrayList<>(1);
+        if (StrUtil.isNotBlank(statsRecord.getUv())) {
+            users.add(statsRecord.getUv());
+        }
+        Map<String, Integer> ips = new HashMap<>(2);
+        if (StrUtil.isNotBlank(statsRecord.getUip())) {
+            ips.put(statsRecord.getUip(), 1);
+        }
+        List<LinkStatsRecordDTO> samples = new ArrayList<>(1);
+        samples.add(statsRecord);
+        return LinkStatsAggregateDTO.builder()
+                .fullShortUrl(statsRecord.getFullShortUrl())
+                .os(statsRecord.getOs())
+                .browser(statsRecord.getBrowser())
+                .device(statsRecord.getDevice())
+                .currentDate(statsRecord.getCurrentDate())
+                .pv(1)
+                .users(users)
+                .ips(ips)
+                .samples(samples)
+                .build();
+    }
+}
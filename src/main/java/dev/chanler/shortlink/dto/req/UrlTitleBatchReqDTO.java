@@ -0,0 +1,18 @@
+package dev.chanler.shortlink.dto.req;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * URL 标题批量获取请求对象
+ * @author: Chanler
+ */
+@Data
+public class UrlTitleBatchReqDTO {
+
+    /**
+     * URL 集合
+     */
+    private List<String> urls;
+}
@@ -0,0 +1,32 @@
+package dev.chanler.shortlink.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接批量创建失败条目响应参数
+ * @author: Chanler
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LinkBatchCreateFailRespDTO {
+
+    /**
+     * 在请求 originUrls 中的下标
+     */
+    private Integer index;
+
+    /**
+     * 原始链接
+     */
+    private String originUrl;
+
+    /**
+     * 失败原因
+     */
+    private String reason;
+}
@@ -26,4 +26,9 @@ public class LinkBatchCreateRespDTO {
      * 批量创建返回参数
      */
     private List<LinkBaseInfoRespDTO> baseLinkInfos;
+
+    /**
+     * 创建失败的条目，单条失败不影响其余条目
+     */
+    private List<LinkBatchCreateFailRespDTO> failures;
 }
@@ -0,0 +1,67 @@
+package dev.chanler.shortlink.dto.resp;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 短链接导入任务响应参数
+ * @author: Chanler
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LinkImportJobRespDTO {
+
+    /**
+     * 任务标识
+     */
+    private String jobId;
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 任务状态 PENDING / RUNNING / SUCCEEDED / FAILED
+     */
+    private String status;
+
+    /**
+     * 已处理行数
+     */
+    private Long processed;
+
+    /**
+     * 创建成功行数
+     */
+    private Long success;
+
+    /**
+     * 创建失败行数
+     */
+    private Long failed;
+
+    /**
+     * 任务中止原因
+     */
+    private String message;
+
+    /**
+     * 创建时间
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private Date createTime;
+
+    /**
+     * 结束时间
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private Date finishTime;
+}
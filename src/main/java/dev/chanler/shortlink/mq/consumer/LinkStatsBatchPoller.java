@@ -0,0 +1,103 @@
+package dev.chanler.shortlink.mq.consumer;
+
+import dev.chanler.shortlink.common.config.StatsConsumerProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_GROUP_KEY;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_TOPIC_KEY;
+
+/**
+ * 短链接统计消息批量拉取器，开启批量消费时替代监听容器
+ * 每个拉取线程以 XREADGROUP COUNT BLOCK 取一批消息交给 {@link LinkStatsSaveConsumer#onMessages}，处理完再取下一批
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "short-link.stats-consumer.batch", name = "enable", havingValue = "true")
+public class LinkStatsBatchPoller {
+
+    private static final long ERROR_BACKOFF_MILLIS = 1000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LinkStatsSaveConsumer linkStatsSaveConsumer;
+    private final StatsConsumerProperties statsConsumerProperties;
+
+    private final List<Thread> pollers = new ArrayList<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        StatsConsumerProperties.BatchProperties batch = statsConsumerProperties.getBatch();
+        running = true;
+        for (int i = 0; i < batch.getThreads(); i++) {
+            Thread poller = new Thread(this::pollLoop, "stats-batch-poller-" + (i + 1));
+            poller.setDaemon(true);
+            poller.start();
+            pollers.add(poller);
+        }
+        log.info("LinkStatsBatchPoller started: threads={}, maxBatchSize={}, blockMillis={}",
+                batch.getThreads(), batch.getMaxBatchSize(), batch.getBlockMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        long joinMillis = statsConsumerProperties.getBatch().getBlockMillis() + statsConsumerProperties.getBatch().getWriteTimeoutMillis();
+        for (Thread poller : pollers) {
+            try {
+                poller.join(joinMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void pollLoop() {
+        StatsConsumerProperties.BatchProperties batch = statsConsumerProperties.getBatch();
+        Consumer consumer = Consumer.from(SHORT_LINK_STATS_STREAM_GROUP_KEY, "stats-consumer");
+        StreamReadOptions readOptions = StreamReadOptions.empty()
+                .count(batch.getMaxBatchSize())
+                .block(Duration.ofMillis(batch.getBlockMillis()));
+        StreamOffset<String> offset = StreamOffset.create(SHORT_LINK_STATS_STREAM_TOPIC_KEY, ReadOffset.lastConsumed());
+        while (running) {
+            try {
+                List<MapRecord<String, String, String>> records = read(consumer, readOptions, offset);
+                if (records == null || records.isEmpty()) {
+                    continue;
+                }
+                linkStatsSaveConsumer.onMessages(records);
+            } catch (Throwable ex) {
+                // 整批与逐条处理都失败的批次留在 Pending，由 PendingMessageRecoveryTask 认领重试
+                log.error("批量拉取或处理统计消息失败", ex);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(ERROR_BACKOFF_MILLIS));
+            }
+        }
+    }
+
+    /**
+     * 只读单个 Stream，泛型可变参数数组不会被污染
+     */
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, String, String>> read(Consumer consumer, StreamReadOptions readOptions, StreamOffset<String> offset) {
+        return stringRedisTemplate.<String, String>opsForStream().read(consumer, readOptions, offset);
+    }
+}
@@ -1,14 +1,17 @@
 package dev.chanler.shortlink.mq.consumer;
 
+import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.util.StrUtil;
 import com.alibaba.fastjson2.JSON;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.chanler.shortlink.common.config.StatsConsumerProperties;
 import dev.chanler.shortlink.common.convention.exception.ServiceException;
 import dev.chanler.shortlink.dao.entity.*;
 import dev.chanler.shortlink.dao.mapper.*;
+import dev.chanler.shortlink.dto.biz.LinkStatsAggregateDTO;
 import dev.chanler.shortlink.dto.biz.LinkStatsRecordDTO;
 import dev.chanler.shortlink.mq.idempotent.MessageQueueIdempotentHandler;
 import dev.chanler.shortlink.toolkit.ipgeo.GeoInfo;
@@ -16,12 +19,14 @@ import dev.chanler.shortlink.toolkit.ipgeo.IpGeoClient;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RFuture;
 import org.redisson.api.RLock;
 import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.stream.StreamListener;
@@ -32,15 +37,26 @@ import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -66,11 +82,13 @@ public class LinkStatsSaveConsumer implements StreamListener<String, MapRecord<S
     private final LinkAccessLogsMapper linkAccessLogsMapper;
     private final LinkDeviceStatsMapper linkDeviceStatsMapper;
     private final LinkNetworkStatsMapper linkNetworkStatsMapper;
+    private final LinkStatsConsumedMapper linkStatsConsumedMapper;
     private final StringRedisTemplate stringRedisTemplate;
     private final TransactionTemplate transactionTemplate;
     private final MessageQueueIdempotentHandler messageQueueIdempotentHandler;
+    private final StatsConsumerProperties statsConsumerProperties;
 
-    private DefaultRedisScript<Long> hllCountAddDeltaScript;
+    private DefaultRedisScript<List<Long>> hllCountAddDeltaBatchScript;
 
     // 本地缓存：fullShortUrl -> gid
     private Cache<String, String> gidCache;
@@ -78,19 +96,53 @@ public class LinkStatsSaveConsumer implements StreamListener<String, MapRecord<S
     // DB写入专用线程池（IO密集型）
     private ExecutorService dbWriteExecutor;
 
-    private static final String HLL_COUNT_ADD_DELTA_LUA = "lua/hll_count_add_delta.lua";
+    // 批量写库事务，超时整批回滚
+    private TransactionTemplate batchTransactionTemplate;
+
+    // 事务回滚批次的 UV / UIP 增量：HLL 已写入，重试时增量为 0，暂存后随下一批写入
+    private final Map<StatsSlot, int[]> carriedHllDeltas = new ConcurrentHashMap<>();
+
+    private static final String HLL_COUNT_ADD_DELTA_BATCH_LUA = "lua/hll_count_add_delta_batch.lua";
+
+    // HLL 与活跃集合 TTL 24小时（24 * 3600 = 86400秒）
+    private static final int HLL_TTL_SECONDS = 86400;
+
+    // 单组最多传入的成员数，避免超出 Lua unpack 的参数上限
+    private static final int HLL_MEMBERS_PER_GROUP = 1000;
+
+    // 单次 Lua 调用最多传入的成员数，限制脚本执行时长
+    private static final int HLL_MEMBERS_PER_CALL = 10_000;
+
+    // 批量模式下单条多行语句最多写入的行数
+    private static final int ROWS_PER_STATEMENT = 1000;
+
+    // 批量写库时等待单个短链接 gid 读锁的最长时间
+    private static final long GID_LOCK_WAIT_MILLIS = 200;
+
+    // 暂存 UV / UIP 增量的最大时段数，数据库长时间不可用时超出部分丢弃
+    private static final int MAX_CARRIED_HLL_SLOTS = 100_000;
+
+    // 死信消息中记录原 Stream ID 的字段
+    private static final String DEAD_LETTER_SOURCE_ID_FIELD = "sourceId";
+
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private static final Comparator<StatsSlot> STATS_SLOT_ORDER = Comparator
+            .comparing(StatsSlot::fullShortUrl)
+            .thenComparing(StatsSlot::date)
+            .thenComparingInt(StatsSlot::hour);
 
     @PostConstruct
     public void init() {
         // 初始化 Lua 脚本
-        hllCountAddDeltaScript = new DefaultRedisScript<>();
-        hllCountAddDeltaScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(HLL_COUNT_ADD_DELTA_LUA)));
-        hllCountAddDeltaScript.setResultType(Long.class);
+        hllCountAddDeltaBatchScript = new DefaultRedisScript<>();
+        hllCountAddDeltaBatchScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(HLL_COUNT_ADD_DELTA_BATCH_LUA)));
+        hllCountAddDeltaBatchScript.setResultType(longListType());
 
-        // 初始化本地缓存：最多缓存1万条，10分钟过期
+        // 初始化本地缓存：最多缓存1万条，gid 变更经失效总线广播，空闲 6 小时过期
         gidCache = Caffeine.newBuilder()
                 .maximumSize(10_000)
-                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .expireAfterAccess(6, TimeUnit.HOURS)
                 .build();
 
         // 初始化DB写入专用线程池（IO密集型任务）
@@ -111,16 +163,21 @@ public class LinkStatsSaveConsumer implements StreamListener<String, MapRecord<S
                 new ThreadPoolExecutor.CallerRunsPolicy()
         );
 
+        // 初始化批量写库事务，超时时间取整到秒
+        batchTransactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionTemplate.getTransactionManager()));
+        batchTransactionTemplate.setTimeout((int) Math.max(1L,
+                TimeUnit.MILLISECONDS.toSeconds(statsConsumerProperties.getBatch().getWriteTimeoutMillis() + 999)));
+
         log.info("LinkStatsSaveConsumer initialized: gidCache={}, dbWriteExecutor core={}/max={}",
                 gidCache.stats(), coreThreads, maxThreads);
     }
 
     /**
-     * 失效 gid 缓存（当 gid 发生变更时调用）
+     * 失效 gid 缓存（由 LocalCacheInvalidator 在短链接变更广播时调用）
      */
     public void invalidateGidCache(String fullShortUrl) {
         gidCache.invalidate(fullShortUrl);
-        log.info("Invalidated gidCache for fullShortUrl={}", fullShortUrl);
+        log.debug("Invalidated gidCache for fullShortUrl={}", fullShortUrl);
     }
 
     @Override
@@ -149,9 +206,7 @@ public class LinkStatsSaveConsumer implements StreamListener<String, MapRecord<S
 
         try {
             // 业务逻辑
-            Map<String, String> producerMap = message.getValue();
-            LinkStatsRecordDTO statsRecord = JSON.parseObject(producerMap.get("statsRecord"), LinkStatsRecordDTO.class);
-            actualSaveShortLinkStats(statsRecord);
+            actualSaveShortLinkStats(parseStatsMessage(message.getValue()));
 
         } catch (Throwable ex) {
             // 业务失败，删除幂等标记，不 ACK
@@ -178,13 +233,203 @@ public class LinkStatsSaveConsumer implements StreamListener<String, MapRecord<S
         }
     }
 
-    public void actualSaveShortLinkStats(LinkStatsRecordDTO statsRecord) {
-        String fullShortUrl = statsRecord.getFullShortUrl();
+    /**
+     * 批量消费：去重后整批合并写库，成功后一次 XACK
+     * 整批失败时逐条重试，单独处理仍失败的消息转入死信队列，不再阻塞同批其他消息
+     */
+    public void onMessages(List<MapRecord<String, String, String>> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        try {
+            processMessages(messages);
+        } catch (Throwable ex) {
+            if (messages.size() == 1) {
+                throw ex;
+            }
+            log.warn("批量处理统计消息失败，逐条重试定位问题消息: {} 条", messages.size(), ex);
+            processOneByOne(messages);
+        }
+    }
+
+    /**
+     * 消息转入死信队列并 ACK，死信保留原消息体与原 Stream ID，供排查后重放
+     * 写入死信失败时抛出异常，消息留在 Pending
+     */
+    public void deadLetter(List<MapRecord<String, String, String>> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(messages.size());
+        for (MapRecord<String, String, String> each : messages) {
+            Map<String, String> body = new HashMap<>(each.getValue());
+            body.put(DEAD_LETTER_SOURCE_ID_FIELD, each.getId().getValue());
+            stringRedisTemplate.opsForStream().add(StreamRecords.newRecord()
+                    .in(SHORT_LINK_STATS_STREAM_DEAD_LETTER_KEY)
+                    .ofMap(body));
+            ids.add(each.getId().getValue());
+        }
+        log.error("统计消息转入死信队列: {}", ids);
+        acknowledge(ids);
+    }
+
+    private void processMessages(List<MapRecord<String, String, String>> messages) {
+        if (statsConsumerProperties.getBatch().getDbDedup()) {
+            onMessagesWithDbDedup(messages);
+        } else {
+            onMessagesWithIdempotentKeys(messages);
+        }
+    }
+
+    /**
+     * 整批失败后逐条处理，单独处理仍失败的消息转入死信队列
+     * 全部失败多为数据库或 Redis 不可用，不转入死信，整批留在 Pending 等待巡检重试
+     */
+    private void processOneByOne(List<MapRecord<String, String, String>> messages) {
+        List<MapRecord<String, String, String>> failed = new ArrayList<>();
+        for (MapRecord<String, String, String> each : messages) {
+            try {
+                processMessages(List.of(each));
+            } catch (Throwable ex) {
+                log.error("统计消息单独处理失败: {}", each.getId(), ex);
+                failed.add(each);
+            }
+        }
+        if (failed.isEmpty()) {
+            return;
+        }
+        if (failed.size() == messages.size()) {
+            throw new ServiceException("统计数据写入失败，" + failed.size() + " 条消息将重试");
+        }
+        deadLetter(failed);
+    }
+
+    /**
+     * Redis 幂等标记去重：标记处理中后整批写库，成功后标记完成并 ACK，失败时释放标记
+     */
+    private void onMessagesWithIdempotentKeys(List<MapRecord<String, String, String>> messages) {
+        List<String> ids = messages.stream().map(each -> each.getId().getValue()).toList();
+        List<Boolean> processed = messageQueueIdempotentHandler.isProcessed(ids);
+        List<MapRecord<String, String, String>> pending = new ArrayList<>(messages.size());
+        List<String> duplicatedIds = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            if (processed.get(i)) {
+                duplicatedIds.add(ids.get(i));
+            } else {
+                pending.add(messages.get(i));
+            }
+        }
+
+        // 重复消息中已完成的补偿 ACK，处理中的留在 Pending
+        if (!duplicatedIds.isEmpty()) {
+            List<Boolean> accomplished = messageQueueIdempotentHandler.isAccomplish(duplicatedIds);
+            List<String> accomplishedIds = new ArrayList<>(duplicatedIds.size());
+            for (int i = 0; i < duplicatedIds.size(); i++) {
+                if (accomplished.get(i)) {
+                    accomplishedIds.add(duplicatedIds.get(i));
+                }
+            }
+            acknowledge(accomplishedIds);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<String> pendingIds = pending.stream().map(each -> each.getId().getValue()).toList();
+        try {
+            List<LinkStatsAggregateDTO> statsAggregates = new ArrayList<>(pending.size());
+            for (MapRecord<String, String, String> each : pending) {
+                try {
+                    statsAggregates.add(parseStatsMessage(each.getValue()));
+                } catch (Exception ex) {
+                    // 格式错误的消息重试也无法成功，随批次一起 ACK 丢弃
+                    log.error("统计消息解析失败，丢弃: {}", each.getId(), ex);
+                }
+            }
+            actualSaveShortLinkStats(statsAggregates);
+        } catch (Throwable ex) {
+            messageQueueIdempotentHandler.release(pendingIds);
+            log.error("批量写入统计失败，{} 条消息将重试", pendingIds.size(), ex);
+            throw ex;
+        }
+
+        try {
+            messageQueueIdempotentHandler.setAccomplish(pendingIds);
+        } catch (Exception e) {
+            log.error("批量设置幂等标记失败，但业务已成功，继续 ACK: {} 条", pendingIds.size(), e);
+        }
+        acknowledge(pendingIds);
+    }
+
+    /**
+     * 数据库侧去重：过滤 t_link_stats_consumed 中已有的 Stream ID，其余消息的 ID 与整批统计同事务提交
+     * 提交后 ACK 失败或被巡检重投的消息在下次消费时被过滤，PV 与各维度计数不会重复；并发消费同一消息时主键冲突，整批回滚重试
+     * HLL 在事务外写入，回滚时本批 UV / UIP 增量暂存在内存中随下一批写入，进程在此期间退出则丢失，只会少计不会多计
+     */
+    private void onMessagesWithDbDedup(List<MapRecord<String, String, String>> messages) {
+        List<String> ids = messages.stream().map(each -> each.getId().getValue()).toList();
+        Set<String> consumed = new HashSet<>(linkStatsConsumedMapper.listConsumed(ids));
+        List<String> freshIds = new ArrayList<>(messages.size());
+        List<LinkStatsAggregateDTO> statsAggregates = new ArrayList<>(messages.size());
+        for (MapRecord<String, String, String> each : messages) {
+            String id = each.getId().getValue();
+            if (consumed.contains(id)) {
+                continue;
+            }
+            freshIds.add(id);
+            try {
+                statsAggregates.add(parseStatsMessage(each.getValue()));
+            } catch (Exception ex) {
+                // 格式错误的消息重试也无法成功，随批次一起记录并 ACK 丢弃
+                log.error("统计消息解析失败，丢弃: {}", each.getId(), ex);
+            }
+        }
+        if (!freshIds.isEmpty()) {
+            try {
+                saveStatsInTransaction(freshIds, mergeStats(statsAggregates));
+            } catch (Exception e) {
+                log.error("批量写入统计失败，{} 条消息将重试", freshIds.size(), e);
+                throw new ServiceException("统计数据写入失败: " + e.getMessage());
+            }
+        }
+        acknowledge(ids);
+    }
+
+    private void acknowledge(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForStream().acknowledge(
+                SHORT_LINK_STATS_STREAM_TOPIC_KEY,
+                SHORT_LINK_STATS_STREAM_GROUP_KEY,
+                ids.toArray(new String[0])
+            );
+        } catch (Exception e) {
+            log.error("批量 ACK 失败，PEL 巡检会补偿: {} 条", ids.size(), e);
+        }
+    }
+
+    /**
+     * 解析统计消息：statsRecord 为单次访问，statsAgg 为生产端窗口聚合结果
+     */
+    private LinkStatsAggregateDTO parseStatsMessage(Map<String, String> producerMap) {
+        String aggregate = producerMap.get("statsAgg");
+        if (aggregate != null) {
+            return JSON.parseObject(aggregate, LinkStatsAggregateDTO.class);
+        }
+        return LinkStatsAggregateDTO.of(JSON.parseObject(producerMap.get("statsRecord"), LinkStatsRecordDTO.class));
+    }
+
+    public void actualSaveShortLinkStats(LinkStatsAggregateDTO statsAggregate) {
+        String fullShortUrl = statsAggregate.getFullShortUrl();
+        int pv = statsAggregate.getPv() != null ? statsAggregate.getPv() : 1;
+        Map<String, Integer> ips = statsAggregate.getIps() != null ? statsAggregate.getIps() : Map.of();
 
         // 阶段1：所有不涉及 gid 的准备工作
 
         // 计算时间相关字段
-        Date eventTime = statsRecord.getCurrentDate();
+        Date eventTime = statsAggregate.getCurrentDate();
         if (eventTime == null) {
             eventTime = new Date();
         }
@@ -198,75 +443,72 @@ public class LinkStatsSaveConsumer implements StreamListener<String, MapRecord<S
         // 计算 v = epochDay(Asia/Shanghai) % 2（基于事件时间）
         int v = (int)(localDate.toEpochDay() % 2);
 
-        // 使用新的 {v} 风格键
-        String uvKey = String.format(STATS_UV_HLL_KEY, v, fullShortUrl);
-        String uipKey = String.format(STATS_UIP_HLL_KEY, v, fullShortUrl);
-        String uvActiveKey = String.format(STATS_UV_ACTIVE_KEY, v);
-        String uipActiveKey = String.format(STATS_UIP_ACTIVE_KEY, v);
-
-        // TTL 24小时（24 * 3600 = 86400秒）
-        int ttlSeconds = 86400;
-
-        // 计算 UV delta
-        Long uvDelta = stringRedisTemplate.execute(hllCountAddDeltaScript,
-            Arrays.asList(uvKey, uvActiveKey),
-            statsRecord.getUv(),
-            fullShortUrl,
-            String.valueOf(ttlSeconds));
-
-        // 计算 UIP delta
-        Long uipDelta = stringRedisTemplate.execute(hllCountAddDeltaScript,
-            Arrays.asList(uipKey, uipActiveKey),
-            statsRecord.getUip(),
-            fullShortUrl,
-            String.valueOf(ttlSeconds));
+        // 计算 UV / UIP delta，窗口内去重后的成员一次脚本调用写入
+        int[] hllDeltas = hllCountAddDelta(List.of(
+                HllGroup.uv(v, fullShortUrl, statsAggregate.getUsers()),
+                HllGroup.uip(v, fullShortUrl, ips.keySet())));
+        int uvDelta = hllDeltas[0];
+        int uipDelta = hllDeltas[1];
 
-        // 查询 IP 地理位置
-        GeoInfo geoInfo = ipGeoClient.query(statsRecord.getUip());
+        // 按 IP 查询地理位置，地区与网络维度按各 IP 的访问次数累加
+        Map<String, GeoInfo> geoInfoMap = new HashMap<>(ips.size() * 2);
+        Map<List<String>, Integer> localeCnt = new LinkedHashMap<>();
+        Map<String, Integer> networkCnt = new LinkedHashMap<>();
+        ips.forEach((ip, cnt) -> {
+            GeoInfo geoInfo = ipGeoClient.query(ip);
+            if (geoInfo == null) {
+                return;
+            }
+            geoInfoMap.put(ip, geoInfo);
+            localeCnt.merge(Arrays.asList(geoInfo.getProvince(), geoInfo.getCity(), geoInfo.getAdcode(), geoInfo.getCountry()), cnt, Integer::sum);
+            networkCnt.merge(geoInfo.getIsp(), cnt, Integer::sum);
+        });
 
         // 构建各维度统计实体
-        LinkLocaleStatsDO linkLocaleStatsDO = LinkLocaleStatsDO.builder()
+        List<LinkLocaleStatsDO> linkLocaleStatsDOList = new ArrayList<>(localeCnt.size());
+        localeCnt.forEach((locale, cnt) -> linkLocaleStatsDOList.add(LinkLocaleStatsDO.builder()
                 .fullShortUrl(fullShortUrl)
                 .date(statsDate)
-                .cnt(1)
-                .province(geoInfo.getProvince())
-                .city(geoInfo.getCity())
-                .adcode(geoInfo.getAdcode())
-                .country(geoInfo.getCountry())
-                .build();
+                .cnt(cnt)
+                .province(locale.get(0))
+                .city(locale.get(1))
+                .adcode(locale.get(2))
+                .country(locale.get(3))
+                .build()));
 
         LinkOsStatsDO linkOsStatsDO = LinkOsStatsDO.builder()
-                .os(statsRecord.getOs())
-                .cnt(1)
+                .os(statsAggregate.getOs())
+                .cnt(pv)
                 .fullShortUrl(fullShortUrl)
                 .date(statsDate)
                 .build();
 
         LinkBrowserStatsDO linkBrowserStatsDO = LinkBrowserStatsDO.builder()
-                .browser(statsRecord.getBrowser())
-                .cnt(1)
+                .browser(statsAggregate.getBrowser())
+                .cnt(pv)
                 .fullShortUrl(fullShortUrl)
                 .date(statsDate)
                 .build();
 
         LinkDeviceStatsDO linkDeviceStatsDO = LinkDeviceStatsDO.builder()
-                .device(statsRecord.getDevice())
-                .cnt(1)
+                .device(statsAggregate.getDevice())
+                .cnt(pv)
                 .fullShortUrl(fullShortUrl)
                 .date(statsDate)
                 .build();
 
-        LinkNetworkStatsDO linkNetworkStatsDO = LinkNetworkStatsDO.builder()
-                .network(geoInfo.getIsp())
-                .cnt(1)
+        List<LinkNetworkStatsDO> linkNetworkStatsDOList = new ArrayList<>(networkCnt.size());
+        networkCnt.forEach((network, cnt) -> linkNetworkStatsDOList.add(LinkNetworkStatsDO.builder()
+                .network(network)
+                .cnt(cnt)
                 .fullShortUrl(fullShortUrl)
                 .date(statsDate)
-                .build();
+                .build()));
 
         LinkAccessStatsDO linkAccessStatsDO = LinkAccessStatsDO.builder()
-                .pv(1)
-                .uv(uvDelta != null ? uvDelta.intValue() : 0)
-                .uip(uipDelta != null ? uipDelta.intValue() : 0)
+                .pv(pv)
+                .uv(uvDelta)
+                .uip(uipDelta)
                 .hour(hour)
                 .weekday(weekValue)
                 .fullShortUrl(fullShortUrl)
@@ -277,7 +519,7 @@ public class LinkStatsSaveConsumer implements StreamListener<String, MapRecord<S
         try {
             CompletableFuture<Void> statsFuture = CompletableFuture.allOf(
                     CompletableFuture.runAsync(() ->
-                            linkLocaleStatsMapper.shortLinkLocaleStats(linkLocaleStatsDO), dbWriteExecutor),
+                            linkLocaleStatsDOList.forEach(linkLocaleStatsMapper::shortLinkLocaleStats), dbWriteExecutor),
                     CompletableFuture.runAsync(() ->
                             linkOsStatsMapper.shortLinkOsStats(linkOsStatsDO), dbWriteExecutor),
                     CompletableFuture.runAsync(() ->
@@ -285,93 +527,437 @@ public class LinkStatsSaveConsumer implements StreamListener<String, MapRecord<S
                     CompletableFuture.runAsync(() ->
                             linkDeviceStatsMapper.shortLinkDeviceStats(linkDeviceStatsDO), dbWriteExecutor),
                     CompletableFuture.runAsync(() ->
-                            linkNetworkStatsMapper.shortLinkNetworkStats(linkNetworkStatsDO), dbWriteExecutor),
+                            linkNetworkStatsDOList.forEach(linkNetworkStatsMapper::shortLinkNetworkStats), dbWriteExecutor),
                     CompletableFuture.runAsync(() ->
                             linkAccessStatsMapper.shortLinkAccessStats(linkAccessStatsDO), dbWriteExecutor)
             );
 
-            // access_logs 异步写入
+            // access_logs 异步写入，聚合消息只写入样本
+            List<LinkStatsRecordDTO> samples = statsAggregate.getSamples() != null ? statsAggregate.getSamples() : List.of();
             CompletableFuture<Void> logFuture = CompletableFuture.runAsync(() ->
-                    saveAccessLogWithFirstFlag(fullShortUrl, statsRecord, geoInfo), dbWriteExecutor);
+                    samples.forEach(each -> saveAccessLogWithFirstFlag(fullShortUrl, each,
+                            each.getUip() != null ? geoInfoMap.get(each.getUip()) : null)), dbWriteExecutor);
 
-            // 阶段3：加读锁，获取 gid 并更新 link 表（这两个操作必须原子）
-            RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(
-                String.format(LOCK_GID_UPDATE_KEY, fullShortUrl)
-            );
-            RLock rLock = readWriteLock.readLock();
-            rLock.lock();
+            // 阶段3：加读锁，获取 gid 并更新 link 表
+            incrementLinkStats(fullShortUrl, pv, uvDelta, uipDelta);
+
+            // 等待所有异步操作完成，超时1000ms
+            CompletableFuture.allOf(statsFuture, logFuture).get(1000, TimeUnit.MILLISECONDS);
+
+        } catch (Exception e) {
+            log.error("异步写入统计数据失败，fullShortUrl={}", fullShortUrl, e);
+            throw new ServiceException("统计数据写入失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 批量写入统计：整批按各统计表唯一键合并，每张表一条多行 upsert，在一个事务内写入
+     * 超时或失败整批回滚，调用方释放幂等标记后重试不会重复计数
+     */
+    public void actualSaveShortLinkStats(List<LinkStatsAggregateDTO> statsAggregates) {
+        if (statsAggregates.isEmpty()) {
+            return;
+        }
+        try {
+            saveStatsInTransaction(List.of(), mergeStats(statsAggregates));
+        } catch (Exception e) {
+            log.error("批量写入统计数据失败，messages={}", statsAggregates.size(), e);
+            throw new ServiceException("统计数据写入失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 整批统计在一个事务内顺序写入，开启数据库去重时已消费的 Stream ID 同事务记录
+     * 涉及短链接的 gid 读锁一次性异步申请并限时等待，持有到提交，保证 gid 迁移不会漏掉未提交的 link 表增量
+     * 等锁超时的短链接正在迁移分组，其 link 表增量不进入事务，提交后逐个加锁补写；事务回滚时暂存本批 UV / UIP 增量
+     */
+    private void saveStatsInTransaction(List<String> streamIds, StatsBatch statsBatch) {
+        long threadId = Thread.currentThread().getId();
+        Map<String, RLock> locks = new LinkedHashMap<>();
+        Map<String, int[]> lockedDeltas = new TreeMap<>();
+        Map<String, int[]> deferredDeltas = new TreeMap<>();
+        try {
+            Map<String, RFuture<Boolean>> attempts = new LinkedHashMap<>();
+            for (String fullShortUrl : statsBatch.linkDeltas().keySet()) {
+                RLock rLock = redissonClient.getReadWriteLock(String.format(LOCK_GID_UPDATE_KEY, fullShortUrl)).readLock();
+                locks.put(fullShortUrl, rLock);
+                attempts.put(fullShortUrl, rLock.tryLockAsync(GID_LOCK_WAIT_MILLIS, -1, TimeUnit.MILLISECONDS, threadId));
+            }
+            attempts.forEach((fullShortUrl, attempt) -> {
+                boolean acquired;
+                try {
+                    acquired = Boolean.TRUE.equals(attempt.toCompletableFuture().join());
+                } catch (Exception ex) {
+                    log.warn("获取 gid 读锁失败，link 表增量延后写入: {}", fullShortUrl, ex);
+                    acquired = false;
+                }
+                int[] delta = statsBatch.linkDeltas().get(fullShortUrl);
+                if (acquired) {
+                    lockedDeltas.put(fullShortUrl, delta);
+                } else {
+                    locks.remove(fullShortUrl);
+                    deferredDeltas.put(fullShortUrl, delta);
+                }
+            });
+            batchTransactionTemplate.executeWithoutResult(status -> {
+                if (!streamIds.isEmpty()) {
+                    linkStatsConsumedMapper.insertBatch(streamIds);
+                }
+                writeRows(statsBatch.localeStats(), linkLocaleStatsMapper::shortLinkLocaleStatsBatch);
+                writeRows(statsBatch.osStats(), linkOsStatsMapper::shortLinkOsStatsBatch);
+                writeRows(statsBatch.browserStats(), linkBrowserStatsMapper::shortLinkBrowserStatsBatch);
+                writeRows(statsBatch.deviceStats(), linkDeviceStatsMapper::shortLinkDeviceStatsBatch);
+                writeRows(statsBatch.networkStats(), linkNetworkStatsMapper::shortLinkNetworkStatsBatch);
+                writeRows(statsBatch.accessStats(), linkAccessStatsMapper::shortLinkAccessStatsBatch);
+                writeRows(statsBatch.accessLogs(), this::saveAccessLogsWithFirstFlag);
+                lockedDeltas.forEach((fullShortUrl, delta) ->
+                        incrementLinkStatsLocked(fullShortUrl, delta[0], delta[1], delta[2]));
+            });
+        } catch (RuntimeException ex) {
+            carryHllDeltas(statsBatch.hllDeltas());
+            throw ex;
+        } finally {
+            unlockAll(locks.values(), threadId);
+        }
+
+        // 统计已提交，补写失败只记录日志，重试会导致各维度重复计数
+        deferredDeltas.forEach((fullShortUrl, delta) -> {
             try {
-                // 尝试从缓存获取 gid
-                String gid = gidCache.getIfPresent(fullShortUrl);
-
-                // 缓存未命中，查询数据库
-                if (gid == null) {
-                    LambdaQueryWrapper<LinkGotoDO> queryWrapper = Wrappers.lambdaQuery(LinkGotoDO.class)
-                            .eq(LinkGotoDO::getFullShortUrl, fullShortUrl);
-                    LinkGotoDO shortLinkGotoDO = linkGotoMapper.selectOne(queryWrapper);
-                    if (shortLinkGotoDO == null) {
-                        log.warn("LinkGotoDO not found for fullShortUrl={}, skip link stats update", fullShortUrl);
-                        // 链接不存在，仍需等待异步任务完成
-                    } else {
-                        gid = shortLinkGotoDO.getGid();
-                        // 写入缓存
-                        gidCache.put(fullShortUrl, gid);
-                    }
+                incrementLinkStats(fullShortUrl, delta[0], delta[1], delta[2]);
+            } catch (Exception ex) {
+                log.error("延后写入 link 表统计失败: fullShortUrl={}, pv={}, uv={}, uip={}",
+                        fullShortUrl, delta[0], delta[1], delta[2], ex);
+            }
+        });
+    }
+
+    private void unlockAll(Collection<RLock> locks, long threadId) {
+        List<RFuture<Void>> unlocks = new ArrayList<>(locks.size());
+        locks.forEach(each -> unlocks.add(each.unlockAsync(threadId)));
+        for (RFuture<Void> each : unlocks) {
+            try {
+                each.toCompletableFuture().join();
+            } catch (Exception ex) {
+                log.warn("释放 gid 读锁失败，等待锁自动过期", ex);
+            }
+        }
+    }
+
+    /**
+     * 暂存事务回滚批次的 UV / UIP 增量
+     */
+    private void carryHllDeltas(Map<StatsSlot, int[]> hllDeltas) {
+        int carried = 0;
+        int dropped = 0;
+        for (Map.Entry<StatsSlot, int[]> entry : hllDeltas.entrySet()) {
+            int[] delta = entry.getValue();
+            if (delta[0] == 0 && delta[1] == 0) {
+                continue;
+            }
+            if (carriedHllDeltas.size() >= MAX_CARRIED_HLL_SLOTS && !carriedHllDeltas.containsKey(entry.getKey())) {
+                dropped++;
+                continue;
+            }
+            carriedHllDeltas.merge(entry.getKey(), delta.clone(), LinkStatsSaveConsumer::addHllDelta);
+            carried++;
+        }
+        if (carried > 0 || dropped > 0) {
+            log.warn("统计事务回滚，暂存 {} 个时段的 UV / UIP 增量随下一批写入，超出上限丢弃 {} 个", carried, dropped);
+        }
+    }
+
+    /**
+     * 取出暂存的 UV / UIP 增量合入本批
+     */
+    private void drainCarriedHllDeltas(Map<StatsSlot, int[]> target) {
+        for (StatsSlot slot : carriedHllDeltas.keySet()) {
+            int[] delta = carriedHllDeltas.remove(slot);
+            if (delta != null) {
+                target.merge(slot, delta, LinkStatsSaveConsumer::addHllDelta);
+            }
+        }
+    }
+
+    private static int[] addHllDelta(int[] a, int[] b) {
+        a[0] += b[0];
+        a[1] += b[1];
+        return a;
+    }
+
+    /**
+     * 整批按各统计表唯一键合并
+     * 1. UV / UIP 按 (fullShortUrl, 日期, 小时) 合并后计算增量，同一短链接同一天按小时先后计入
+     * 2. 各表行按唯一键排序，并发批次以相同顺序加行锁，避免死锁
+     * 3. link 表增量按短链接汇总，短链接有序
+     */
+    private StatsBatch mergeStats(List<LinkStatsAggregateDTO> statsAggregates) {
+        Map<StatsSlot, SlotAccumulator> slots = new HashMap<>();
+        Map<List<Object>, LinkLocaleStatsDO> localeStats = new HashMap<>();
+        Map<List<Object>, LinkOsStatsDO> osStats = new HashMap<>();
+        Map<List<Object>, LinkBrowserStatsDO> browserStats = new HashMap<>();
+        Map<List<Object>, LinkDeviceStatsDO> deviceStats = new HashMap<>();
+        Map<List<Object>, LinkNetworkStatsDO> networkStats = new HashMap<>();
+        Map<String, GeoInfo> geoInfoMap = new HashMap<>();
+        List<LinkAccessLogsDO> accessLogs = new ArrayList<>();
+
+        for (LinkStatsAggregateDTO each : statsAggregates) {
+            String fullShortUrl = each.getFullShortUrl();
+            int pv = each.getPv() != null ? each.getPv() : 1;
+            Map<String, Integer> ips = each.getIps() != null ? each.getIps() : Map.of();
+            StatsSlot slot = StatsSlot.of(fullShortUrl, each.getCurrentDate());
+            Date statsDate = slot.date();
+
+            SlotAccumulator accumulator = slots.computeIfAbsent(slot, k -> new SlotAccumulator());
+            accumulator.pv += pv;
+            if (each.getUsers() != null) {
+                accumulator.users.addAll(each.getUsers());
+            }
+            accumulator.ips.addAll(ips.keySet());
+
+            osStats.merge(Arrays.asList(fullShortUrl, statsDate, each.getOs()), LinkOsStatsDO.builder()
+                    .os(each.getOs()).cnt(pv).fullShortUrl(fullShortUrl).date(statsDate).build(),
+                    (a, b) -> { a.setCnt(a.getCnt() + b.getCnt()); return a; });
+            browserStats.merge(Arrays.asList(fullShortUrl, statsDate, each.getBrowser()), LinkBrowserStatsDO.builder()
+                    .browser(each.getBrowser()).cnt(pv).fullShortUrl(fullShortUrl).date(statsDate).build(),
+                    (a, b) -> { a.setCnt(a.getCnt() + b.getCnt()); return a; });
+            deviceStats.merge(Arrays.asList(fullShortUrl, statsDate, each.getDevice()), LinkDeviceStatsDO.builder()
+                    .device(each.getDevice()).cnt(pv).fullShortUrl(fullShortUrl).date(statsDate).build(),
+                    (a, b) -> { a.setCnt(a.getCnt() + b.getCnt()); return a; });
+
+            // 整批内每个 IP 只查询一次地理位置
+            ips.forEach((ip, cnt) -> {
+                if (!geoInfoMap.containsKey(ip)) {
+                    geoInfoMap.put(ip, ipGeoClient.query(ip));
                 }
+                GeoInfo geoInfo = geoInfoMap.get(ip);
+                if (geoInfo == null) {
+                    return;
+                }
+                localeStats.merge(Arrays.asList(fullShortUrl, statsDate, geoInfo.getAdcode(), geoInfo.getProvince()), LinkLocaleStatsDO.builder()
+                        .fullShortUrl(fullShortUrl)
+                        .date(statsDate)
+                        .cnt(cnt)
+                        .province(geoInfo.getProvince())
+                        .city(geoInfo.getCity())
+                        .adcode(geoInfo.getAdcode())
+                        .country(geoInfo.getCountry())
+                        .build(),
+                        (a, b) -> { a.setCnt(a.getCnt() + b.getCnt()); return a; });
+                networkStats.merge(Arrays.asList(fullShortUrl, statsDate, geoInfo.getIsp()), LinkNetworkStatsDO.builder()
+                        .network(geoInfo.getIsp()).cnt(cnt).fullShortUrl(fullShortUrl).date(statsDate).build(),
+                        (a, b) -> { a.setCnt(a.getCnt() + b.getCnt()); return a; });
+            });
+
+            if (each.getSamples() != null) {
+                each.getSamples().forEach(sample -> accessLogs.add(toAccessLog(fullShortUrl, sample,
+                        sample.getUip() != null ? geoInfoMap.get(sample.getUip()) : null)));
+            }
+        }
+
+        // 按唯一键排序，整批 UV / UIP 一次脚本调用，增量按小时先后计入
+        List<StatsSlot> sortedSlots = new ArrayList<>(slots.keySet());
+        sortedSlots.sort(STATS_SLOT_ORDER);
+        List<HllGroup> hllGroups = new ArrayList<>(sortedSlots.size() * 2);
+        for (StatsSlot slot : sortedSlots) {
+            SlotAccumulator accumulator = slots.get(slot);
+            hllGroups.add(HllGroup.uv(slot.v(), slot.fullShortUrl(), accumulator.users));
+            hllGroups.add(HllGroup.uip(slot.v(), slot.fullShortUrl(), accumulator.ips));
+        }
+        int[] hllDeltas = hllCountAddDelta(hllGroups);
+        Map<StatsSlot, int[]> slotHllDeltas = new HashMap<>(sortedSlots.size() * 2);
+        for (int i = 0; i < sortedSlots.size(); i++) {
+            slotHllDeltas.put(sortedSlots.get(i), new int[]{hllDeltas[2 * i], hllDeltas[2 * i + 1]});
+        }
+        // 合入此前回滚批次暂存的增量，本批没有访问的时段只累加 UV / UIP
+        drainCarriedHllDeltas(slotHllDeltas);
+        if (slotHllDeltas.size() > sortedSlots.size()) {
+            sortedSlots = new ArrayList<>(slotHllDeltas.keySet());
+            sortedSlots.sort(STATS_SLOT_ORDER);
+        }
+        List<LinkAccessStatsDO> accessStatsList = new ArrayList<>(sortedSlots.size());
+        Map<String, int[]> linkDeltas = new TreeMap<>();
+        for (StatsSlot slot : sortedSlots) {
+            SlotAccumulator accumulator = slots.get(slot);
+            int pv = accumulator != null ? accumulator.pv : 0;
+            String fullShortUrl = slot.fullShortUrl();
+            int uvDelta = slotHllDeltas.get(slot)[0];
+            int uipDelta = slotHllDeltas.get(slot)[1];
+            accessStatsList.add(LinkAccessStatsDO.builder()
+                    .pv(pv)
+                    .uv(uvDelta)
+                    .uip(uipDelta)
+                    .hour(slot.hour())
+                    .weekday(slot.weekday())
+                    .fullShortUrl(fullShortUrl)
+                    .date(slot.date())
+                    .build());
+            int[] delta = linkDeltas.computeIfAbsent(fullShortUrl, k -> new int[3]);
+            delta[0] += pv;
+            delta[1] += uvDelta;
+            delta[2] += uipDelta;
+        }
+        List<LinkLocaleStatsDO> localeStatsList = sorted(localeStats.values(), Comparator
+                .comparing(LinkLocaleStatsDO::getFullShortUrl)
+                .thenComparing(LinkLocaleStatsDO::getDate)
+                .thenComparing(LinkLocaleStatsDO::getAdcode, NULLS_FIRST)
+                .thenComparing(LinkLocaleStatsDO::getProvince, NULLS_FIRST));
+        List<LinkOsStatsDO> osStatsList = sorted(osStats.values(), Comparator
+                .comparing(LinkOsStatsDO::getFullShortUrl)
+                .thenComparing(LinkOsStatsDO::getDate)
+                .thenComparing(LinkOsStatsDO::getOs, NULLS_FIRST));
+        List<LinkBrowserStatsDO> browserStatsList = sorted(browserStats.values(), Comparator
+                .comparing(LinkBrowserStatsDO::getFullShortUrl)
+                .thenComparing(LinkBrowserStatsDO::getDate)
+                .thenComparing(LinkBrowserStatsDO::getBrowser, NULLS_FIRST));
+        List<LinkDeviceStatsDO> deviceStatsList = sorted(deviceStats.values(), Comparator
+                .comparing(LinkDeviceStatsDO::getFullShortUrl)
+                .thenComparing(LinkDeviceStatsDO::getDate)
+                .thenComparing(LinkDeviceStatsDO::getDevice, NULLS_FIRST));
+        List<LinkNetworkStatsDO> networkStatsList = sorted(networkStats.values(), Comparator
+                .comparing(LinkNetworkStatsDO::getFullShortUrl)
+                .thenComparing(LinkNetworkStatsDO::getDate)
+                .thenComparing(LinkNetworkStatsDO::getNetwork, NULLS_FIRST));
+
+        return new StatsBatch(localeStatsList, osStatsList, browserStatsList, deviceStatsList,
+                networkStatsList, accessStatsList, accessLogs, linkDeltas, slotHllDeltas);
+    }
+
+    /**
+     * 加读锁获取 gid 并累加 link 表统计（这两个操作必须原子），gid 变更时用新 gid 重试
+     */
+    private void incrementLinkStats(String fullShortUrl, int pv, int uvDelta, int uipDelta) {
+        RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(
+            String.format(LOCK_GID_UPDATE_KEY, fullShortUrl)
+        );
+        RLock rLock = readWriteLock.readLock();
+        rLock.lock();
+        try {
+            incrementLinkStatsLocked(fullShortUrl, pv, uvDelta, uipDelta);
+        } finally {
+            rLock.unlock();
+        }
+    }
+
+    /**
+     * 获取 gid 并累加 link 表统计，调用方需持有该短链接的 gid 读锁
+     */
+    private void incrementLinkStatsLocked(String fullShortUrl, int pv, int uvDelta, int uipDelta) {
+        // 尝试从缓存获取 gid
+        String gid = gidCache.getIfPresent(fullShortUrl);
+
+        // 缓存未命中，查询数据库
+        if (gid == null) {
+            LambdaQueryWrapper<LinkGotoDO> queryWrapper = Wrappers.lambdaQuery(LinkGotoDO.class)
+                    .eq(LinkGotoDO::getFullShortUrl, fullShortUrl);
+            LinkGotoDO shortLinkGotoDO = linkGotoMapper.selectOne(queryWrapper);
+            if (shortLinkGotoDO == null) {
+                log.warn("LinkGotoDO not found for fullShortUrl={}, skip link stats update", fullShortUrl);
+                // 链接不存在，跳过 link 表更新
+            } else {
+                gid = shortLinkGotoDO.getGid();
+                // 写入缓存
+                gidCache.put(fullShortUrl, gid);
+            }
+        }
 
-                // gid 存在时才更新 link 表
-                if (gid != null) {
-                    // 使用获取到的 gid 更新 link 表
-                    int affected = linkMapper.incrementStats(gid, fullShortUrl, 1,
-                            uvDelta != null ? uvDelta.intValue() : 0,
-                            uipDelta != null ? uipDelta.intValue() : 0);
+        // gid 存在时才更新 link 表
+        if (gid != null) {
+            // 使用获取到的 gid 更新 link 表
+            int affected = linkMapper.incrementStats(gid, fullShortUrl, pv, uvDelta, uipDelta);
+
+            // 检测更新失败（可能是 gid 已变更，或记录被删除）
+            if (affected == 0) {
+                log.warn("incrementStats affected 0 rows, gid may have changed or link deleted. fullShortUrl={}, oldGid={}",
+                    fullShortUrl, gid);
+
+                // 失效缓存并重新查询
+                gidCache.invalidate(fullShortUrl);
+                LambdaQueryWrapper<LinkGotoDO> queryWrapper = Wrappers.lambdaQuery(LinkGotoDO.class)
+                        .eq(LinkGotoDO::getFullShortUrl, fullShortUrl);
+                LinkGotoDO shortLinkGotoDO = linkGotoMapper.selectOne(queryWrapper);
+
+                if (shortLinkGotoDO != null && !shortLinkGotoDO.getGid().equals(gid)) {
+                    // gid 确实变了，用新 gid 重试
+                    String newGid = shortLinkGotoDO.getGid();
+                    log.info("Detected gid change: {} -> {}, retrying incrementStats", gid, newGid);
+                    affected = linkMapper.incrementStats(newGid, fullShortUrl, pv, uvDelta, uipDelta);
 
-                    // 检测更新失败（可能是 gid 已变更，或记录被删除）
                     if (affected == 0) {
-                        log.warn("incrementStats affected 0 rows, gid may have changed or link deleted. fullShortUrl={}, oldGid={}",
-                            fullShortUrl, gid);
-
-                        // 失效缓存并重新查询
-                        gidCache.invalidate(fullShortUrl);
-                        LambdaQueryWrapper<LinkGotoDO> queryWrapper = Wrappers.lambdaQuery(LinkGotoDO.class)
-                                .eq(LinkGotoDO::getFullShortUrl, fullShortUrl);
-                        LinkGotoDO shortLinkGotoDO = linkGotoMapper.selectOne(queryWrapper);
-
-                        if (shortLinkGotoDO != null && !shortLinkGotoDO.getGid().equals(gid)) {
-                            // gid 确实变了，用新 gid 重试
-                            String newGid = shortLinkGotoDO.getGid();
-                            log.info("Detected gid change: {} -> {}, retrying incrementStats", gid, newGid);
-                            affected = linkMapper.incrementStats(newGid, fullShortUrl, 1,
-                                    uvDelta != null ? uvDelta.intValue() : 0,
-                                    uipDelta != null ? uipDelta.intValue() : 0);
-
-                            if (affected == 0) {
-                                log.error("Retry incrementStats still failed after gid change, link may be deleted: {}", fullShortUrl);
-                            } else {
-                                // 重试成功，更新缓存
-                                gidCache.put(fullShortUrl, newGid);
-                            }
-                        } else if (shortLinkGotoDO == null) {
-                            log.error("Link not found in LinkGotoDO after incrementStats failed: {}", fullShortUrl);
-                        } else {
-                            // gid 没变但 affected=0，说明记录被删除了
-                            log.warn("incrementStats affected 0 but gid unchanged, link has been deleted: {}", fullShortUrl);
-                        }
+                        log.error("Retry incrementStats still failed after gid change, link may be deleted: {}", fullShortUrl);
+                    } else {
+                        // 重试成功，更新缓存
+                        gidCache.put(fullShortUrl, newGid);
                     }
+                } else if (shortLinkGotoDO == null) {
+                    log.error("Link not found in LinkGotoDO after incrementStats failed: {}", fullShortUrl);
+                } else {
+                    // gid 没变但 affected=0，说明记录被删除了
+                    log.warn("incrementStats affected 0 but gid unchanged, link has been deleted: {}", fullShortUrl);
                 }
-            } finally {
-                rLock.unlock();
             }
+        }
+    }
 
-            // 等待所有异步操作完成，超时1000ms
-            CompletableFuture.allOf(statsFuture, logFuture).get(1000, TimeUnit.MILLISECONDS);
+    /**
+     * 多组成员一次脚本调用写入 HLL，返回与入参一一对应的基数增量
+     * 单组成员过多时拆成多段，总成员数超过 HLL_MEMBERS_PER_CALL 时分多次调用，各段按顺序执行，增量累加
+     */
+    private int[] hllCountAddDelta(List<HllGroup> groups) {
+        int[] deltas = new int[groups.size()];
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        int memberCount = 0;
+        for (int i = 0; i < groups.size(); i++) {
+            HllGroup group = groups.get(i);
+            if (group.members() == null || group.members().isEmpty()) {
+                continue;
+            }
+            for (List<String> chunk : ListUtil.partition(new ArrayList<>(group.members()), HLL_MEMBERS_PER_GROUP)) {
+                if (memberCount + chunk.size() > HLL_MEMBERS_PER_CALL && !owners.isEmpty()) {
+                    executeHllCountAddDelta(keys, args, owners, deltas);
+                    keys.clear();
+                    args.clear();
+                    owners.clear();
+                    memberCount = 0;
+                }
+                keys.add(group.hllKey());
+                keys.add(group.activeKey());
+                args.add(group.fullShortUrl());
+                args.add(String.valueOf(chunk.size()));
+                args.addAll(chunk);
+                owners.add(i);
+                memberCount += chunk.size();
+            }
+        }
+        if (!owners.isEmpty()) {
+            executeHllCountAddDelta(keys, args, owners, deltas);
+        }
+        return deltas;
+    }
 
-        } catch (Exception e) {
-            log.error("异步写入统计数据失败，fullShortUrl={}", fullShortUrl, e);
-            throw new ServiceException("统计数据写入失败: " + e.getMessage());
+    private void executeHllCountAddDelta(List<String> keys, List<String> args, List<Integer> owners, int[] deltas) {
+        List<Object> argv = new ArrayList<>(args.size() + 1);
+        argv.add(String.valueOf(HLL_TTL_SECONDS));
+        argv.addAll(args);
+        List<Long> results = stringRedisTemplate.execute(hllCountAddDeltaBatchScript, keys, argv.toArray());
+        if (results == null) {
+            return;
+        }
+        for (int i = 0; i < owners.size() && i < results.size(); i++) {
+            Long result = results.get(i);
+            deltas[owners.get(i)] += result != null ? result.intValue() : 0;
         }
     }
 
+    /**
+     * 脚本返回整数数组，Spring 转换为 List<Long>；泛型擦除后只能由 List.class 转换得到
+     */
+    @SuppressWarnings("unchecked")
+    private static Class<List<Long>> longListType() {
+        return (Class<List<Long>>) (Class<?>) List.class;
+    }
+
     private void saveAccessLogWithFirstFlag(String fullShortUrl,
                                             LinkStatsRecordDTO statsRecord,
                                             GeoInfo geoInfo) {
@@ -412,4 +998,104 @@ public class LinkStatsSaveConsumer implements StreamListener<String, MapRecord<S
             linkAccessLogsMapper.insert(accessLogsDO);
         });
     }
+
+    private static <T> void writeRows(List<T> rows, Consumer<List<T>> writer) {
+        if (!rows.isEmpty()) {
+            ListUtil.partition(rows, ROWS_PER_STATEMENT).forEach(writer);
+        }
+    }
+
+    private static <T> List<T> sorted(Collection<T> rows, Comparator<T> comparator) {
+        List<T> result = new ArrayList<>(rows);
+        result.sort(comparator);
+        return result;
+    }
+
+    /**
+     * 批量写入访问日志，首访标记按整批一次查询计算
+     * 不加锁，多个拉取线程同时处理同一新访客时可能都标记为首访
+     */
+    private void saveAccessLogsWithFirstFlag(List<LinkAccessLogsDO> accessLogs) {
+        Map<List<String>, LinkAccessLogsDO> candidates = new LinkedHashMap<>();
+        accessLogs.stream()
+                .filter(each -> StrUtil.isNotBlank(each.getUser()))
+                .forEach(each -> candidates.putIfAbsent(List.of(each.getFullShortUrl(), each.getUser()), each));
+        Set<List<String>> visited = new HashSet<>();
+        ListUtil.partition(new ArrayList<>(candidates.values()), ROWS_PER_STATEMENT).forEach(chunk ->
+                linkAccessLogsMapper.listVisitedUsers(chunk)
+                        .forEach(each -> visited.add(List.of(each.getFullShortUrl(), each.getUser()))));
+        accessLogs.forEach(each -> each.setFirstFlag(StrUtil.isNotBlank(each.getUser())
+                && visited.add(List.of(each.getFullShortUrl(), each.getUser()))));
+        linkAccessLogsMapper.insertBatch(accessLogs);
+    }
+
+    private LinkAccessLogsDO toAccessLog(String fullShortUrl, LinkStatsRecordDTO statsRecord, GeoInfo geoInfo) {
+        String locale = null;
+        if (geoInfo != null) {
+            locale = Stream.of(geoInfo.getCountry(), geoInfo.getProvince(), geoInfo.getCity())
+                    .filter(StrUtil::isNotBlank)
+                    .collect(Collectors.joining("-"));
+            if (StrUtil.isBlank(locale)) {
+                locale = null;
+            }
+        }
+        return LinkAccessLogsDO.builder()
+                .fullShortUrl(fullShortUrl)
+                .user(statsRecord.getUv())
+                .ip(statsRecord.getUip())
+                .browser(statsRecord.getBrowser())
+                .os(statsRecord.getOs())
+                .network(geoInfo != null ? geoInfo.getIsp() : null)
+                .device(statsRecord.getDevice())
+                .locale(locale)
+                .build();
+    }
+
+    /**
+     * 统计时段：access_stats 的唯一键 (fullShortUrl, 日期, 小时)，v 为 HLL 键的日期奇偶位
+     */
+    private record StatsSlot(String fullShortUrl, Date date, int hour, int weekday, int v) {
+
+        static StatsSlot of(String fullShortUrl, Date eventTime) {
+            ZoneId zoneId = ZoneId.of("Asia/Shanghai");
+            ZonedDateTime zonedDateTime = ZonedDateTime.ofInstant((eventTime != null ? eventTime : new Date()).toInstant(), zoneId);
+            LocalDate localDate = zonedDateTime.toLocalDate();
+            return new StatsSlot(fullShortUrl, Date.from(localDate.atStartOfDay(zoneId).toInstant()),
+                    zonedDateTime.getHour(), zonedDateTime.getDayOfWeek().getValue(), (int) (localDate.toEpochDay() % 2));
+        }
+    }
+
+    /**
+     * 整批合并后待写入的各表行，均已按唯一键排序
+     */
+    private record StatsBatch(List<LinkLocaleStatsDO> localeStats,
+                              List<LinkOsStatsDO> osStats,
+                              List<LinkBrowserStatsDO> browserStats,
+                              List<LinkDeviceStatsDO> deviceStats,
+                              List<LinkNetworkStatsDO> networkStats,
+                              List<LinkAccessStatsDO> accessStats,
+                              List<LinkAccessLogsDO> accessLogs,
+                              Map<String, int[]> linkDeltas,
+                              Map<StatsSlot, int[]> hllDeltas) {}
+
+    /**
+     * 一组 HLL 写入：同一 HLL 键的成员及其活跃集合
+     */
+    private record HllGroup(String hllKey, String activeKey, String fullShortUrl, Collection<String> members) {
+
+        static HllGroup uv(int v, String fullShortUrl, Collection<String> users) {
+            return new HllGroup(String.format(STATS_UV_HLL_KEY, v, fullShortUrl), String.format(STATS_UV_ACTIVE_KEY, v), fullShortUrl, users);
+        }
+
+        static HllGroup uip(int v, String fullShortUrl, Collection<String> ips) {
+            return new HllGroup(String.format(STATS_UIP_HLL_KEY, v, fullShortUrl), String.format(STATS_UIP_ACTIVE_KEY, v), fullShortUrl, ips);
+        }
+    }
+
+    private static final class SlotAccumulator {
+
+        private int pv;
+        private final Set<String> users = new HashSet<>();
+        private final Set<String> ips = new HashSet<>();
+    }
 }
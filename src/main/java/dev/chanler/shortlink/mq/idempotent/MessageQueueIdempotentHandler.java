@@ -1,9 +1,14 @@
 package dev.chanler.shortlink.mq.idempotent;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -19,6 +24,16 @@ public class MessageQueueIdempotentHandler {
 
     private final StringRedisTemplate stringRedisTemplate;
 
+    /**
+     * 处理中标记的有效期，消费进程崩溃后到期释放
+     */
+    private static final long PROCESSING_TTL_MINUTES = 2L;
+
+    /**
+     * 完成标记的有效期，须长于 Pending 巡检的认领阈值（5 分钟），否则 ACK 失败后重投的消息会被重复计数
+     */
+    private static final long ACCOMPLISH_TTL_MINUTES = 10L;
+
     /**
      * 判断消息是否已被处理过（同时尝试标记为处理中）
      * @param messageId 消息唯一标识
@@ -27,7 +42,7 @@ public class MessageQueueIdempotentHandler {
     public boolean isProcessed(String messageId) {
         String key = String.format(IDEMPOTENT_KEY_PREFIX, messageId);
         // setIfAbsent 返回 false 表示 key 已存在（已被处理过）
-        return Boolean.FALSE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, "0", 2L, TimeUnit.MINUTES));
+        return Boolean.FALSE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, "0", PROCESSING_TTL_MINUTES, TimeUnit.MINUTES));
     }
 
     /**
@@ -46,7 +61,7 @@ public class MessageQueueIdempotentHandler {
      */
     public void setAccomplish(String messageId) {
         String key = String.format(IDEMPOTENT_KEY_PREFIX, messageId);
-        stringRedisTemplate.opsForValue().set(key, "1", 2L, TimeUnit.MINUTES);
+        stringRedisTemplate.opsForValue().set(key, "1", ACCOMPLISH_TTL_MINUTES, TimeUnit.MINUTES);
     }
 
     /**
@@ -57,4 +72,59 @@ public class MessageQueueIdempotentHandler {
         String key = String.format(IDEMPOTENT_KEY_PREFIX, messageId);
         stringRedisTemplate.delete(key);
     }
+
+    /**
+     * 批量判断消息是否已被处理过（同时尝试标记为处理中），一次管道完成
+     * @param messageIds 消息唯一标识列表
+     * @return 与入参一一对应，true-消息已被处理过（重复消费）, false-首次处理
+     */
+    public List<Boolean> isProcessed(List<String> messageIds) {
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String messageId : messageIds) {
+                connection.stringCommands().set(key(messageId), "0".getBytes(StandardCharsets.UTF_8),
+                        Expiration.from(PROCESSING_TTL_MINUTES, TimeUnit.MINUTES), RedisStringCommands.SetOption.ifAbsent());
+            }
+            return null;
+        });
+        return results.stream().map(each -> !Boolean.TRUE.equals(each)).toList();
+    }
+
+    /**
+     * 批量判断消息消费流程是否执行完成
+     * @param messageIds 消息唯一标识列表
+     * @return 与入参一一对应的完成标记
+     */
+    public List<Boolean> isAccomplish(List<String> messageIds) {
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(
+                messageIds.stream().map(each -> String.format(IDEMPOTENT_KEY_PREFIX, each)).toList());
+        return values == null
+                ? messageIds.stream().map(each -> false).toList()
+                : values.stream().map(each -> Objects.equals(each, "1")).toList();
+    }
+
+    /**
+     * 批量设置消息流程执行完成
+     * @param messageIds 消息唯一标识列表
+     */
+    public void setAccomplish(List<String> messageIds) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String messageId : messageIds) {
+                connection.stringCommands().set(key(messageId), "1".getBytes(StandardCharsets.UTF_8),
+                        Expiration.from(ACCOMPLISH_TTL_MINUTES, TimeUnit.MINUTES), RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 批量释放幂等标识（批次处理失败时调用）
+     * @param messageIds 消息唯一标识列表
+     */
+    public void release(List<String> messageIds) {
+        stringRedisTemplate.delete(messageIds.stream().map(each -> String.format(IDEMPOTENT_KEY_PREFIX, each)).toList());
+    }
+
+    private byte[] key(String messageId) {
+        return String.format(IDEMPOTENT_KEY_PREFIX, messageId).getBytes(StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,106 @@
+package dev.chanler.shortlink.mq.producer;
+
+import dev.chanler.shortlink.dto.biz.LinkStatsAggregateDTO;
+import dev.chanler.shortlink.dto.biz.LinkStatsRecordDTO;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 统计事件窗口聚合器，仅由生产者后台线程使用，非线程安全
+ * 1. 按事件时间对齐到 windowMillis 的窗口，窗口长度整除一小时，同一窗口不会跨越统计日期与小时
+ * 2. 同一窗口内 (fullShortUrl, os, browser, device) 相同的事件累加 pv，访客去重，IP 计数，保留前 maxSamples 条原始样本写访问日志
+ * 3. 首个事件进入后满 windowMillis 或聚合键数量达到 maxKeys 时整体输出
+ * @author: Chanler
+ */
+final class LinkStatsAggregator {
+
+    private final long windowMillis;
+    private final int maxSamples;
+    private final int maxKeys;
+    private final Map<AggregateKey, Bucket> buckets = new HashMap<>();
+    private long firstAddedAt;
+
+    LinkStatsAggregator(long windowMillis, int maxSamples, int maxKeys) {
+        if (windowMillis <= 0 || 3_600_000L % windowMillis != 0) {
+            throw new IllegalArgumentException("window-millis must divide one hour, got " + windowMillis);
+        }
+        this.windowMillis = windowMillis;
+        this.maxSamples = maxSamples;
+        this.maxKeys = maxKeys;
+    }
+
+    void add(LinkStatsRecordDTO statsRecord) {
+        long now = System.currentTimeMillis();
+        if (buckets.isEmpty()) {
+            firstAddedAt = now;
+        }
+        long eventTime = statsRecord.getCurrentDate() != null ? statsRecord.getCurrentDate().getTime() : now;
+        AggregateKey key = new AggregateKey(statsRecord.getFullShortUrl(), statsRecord.getOs(), statsRecord.getBrowser(),
+                statsRecord.getDevice(), eventTime / windowMillis);
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+        bucket.pv++;
+        if (statsRecord.getUv() != null) {
+            bucket.users.add(statsRecord.getUv());
+        }
+        if (statsRecord.getUip() != null) {
+            bucket.ips.computeIfAbsent(statsRecord.getUip(), k -> new int[1])[0]++;
+        }
+        if (bucket.samples.size() < maxSamples) {
+            bucket.samples.add(statsRecord);
+        }
+    }
+
+    /**
+     * 是否需要输出当前窗口，停机时有数据即输出
+     */
+    boolean shouldEmit(long now, boolean stopping) {
+        if (buckets.isEmpty()) {
+            return false;
+        }
+        return stopping || now - firstAddedAt >= windowMillis || buckets.size() >= maxKeys;
+    }
+
+    boolean isEmpty() {
+        return buckets.isEmpty();
+    }
+
+    /**
+     * 输出并清空全部聚合结果
+     */
+    List<LinkStatsAggregateDTO> drain() {
+        List<LinkStatsAggregateDTO> result = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> {
+            Map<String, Integer> ips = new HashMap<>(bucket.ips.size() * 2);
+            bucket.ips.forEach((ip, cnt) -> ips.put(ip, cnt[0]));
+            result.add(LinkStatsAggregateDTO.builder()
+                    .fullShortUrl(key.fullShortUrl())
+                    .os(key.os())
+                    .browser(key.browser())
+                    .device(key.device())
+                    .currentDate(new Date(key.window() * windowMillis))
+                    .pv(bucket.pv)
+                    .users(new ArrayList<>(bucket.users))
+                    .ips(ips)
+                    .samples(bucket.samples)
+                    .build());
+        });
+        buckets.clear();
+        return result;
+    }
+
+    private record AggregateKey(String fullShortUrl, String os, String browser, String device, long window) {}
+
+    private static final class Bucket {
+
+        private int pv;
+        private final Set<String> users = new HashSet<>();
+        private final Map<String, int[]> ips = new HashMap<>();
+        private final List<LinkStatsRecordDTO> samples = new ArrayList<>();
+    }
+}
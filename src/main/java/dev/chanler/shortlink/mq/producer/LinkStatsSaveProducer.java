@@ -1,22 +1,96 @@
 package dev.chanler.shortlink.mq.producer;
 
+import com.alibaba.fastjson2.JSON;
+import dev.chanler.shortlink.common.config.StatsProducerProperties;
+import dev.chanler.shortlink.common.enums.StatsOverflowPolicyEnum;
+import dev.chanler.shortlink.dto.biz.LinkStatsAggregateDTO;
+import dev.chanler.shortlink.dto.biz.LinkStatsRecordDTO;
+import dev.chanler.shortlink.toolkit.MpscRingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import static dev.chanler.shortlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_TOPIC_KEY;
 
 /**
  * 短链接监控状态保存消息队列生产者
+ * 异步模式下跳转线程只把统计事件写入无锁环形缓冲区，不等待 Redis：
+ * 1. 后台线程批量取出事件，序列化后以一次管道发出多条 XADD，并按 maxLen 近似裁剪 Stream
+ * 2. 缓冲区满时按 overflowPolicy 丢弃、抽样或短暂等待，统计数据可能少计，跳转不受 Redis 抖动影响
+ * 3. 批次发送失败时退避重试，超过 maxRetries 后丢弃该批并计入丢弃数
+ * 4. 停机时停止接收并在 shutdownTimeoutMillis 内发送完缓冲区剩余事件，后台线程退出后再同步发送检查状态后才写入的事件
+ * 5. 开启 aggregate 时后台线程先经 {@link LinkStatsAggregator} 按窗口聚合，每个聚合键每个窗口只发送一条 statsAgg 消息
  * @author: Chanler
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class LinkStatsSaveProducer {
 
+    private static final String STATS_RECORD_FIELD = "statsRecord";
+    private static final String STATS_AGGREGATE_FIELD = "statsAgg";
+    private static final long DROP_LOG_INTERVAL_MILLIS = 10_000;
+
     private final StringRedisTemplate stringRedisTemplate;
+    private final StatsProducerProperties statsProducerProperties;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private MpscRingBuffer<LinkStatsRecordDTO> buffer;
+    private LinkStatsAggregator aggregator;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        if (!statsProducerProperties.getAsync()) {
+            return;
+        }
+        buffer = new MpscRingBuffer<>(statsProducerProperties.getBufferSize());
+        StatsProducerProperties.AggregateProperties aggregate = statsProducerProperties.getAggregate();
+        if (aggregate.getEnable()) {
+            aggregator = new LinkStatsAggregator(aggregate.getWindowMillis(), aggregate.getMaxSamples(), aggregate.getMaxKeys());
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "link-stats-producer");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("LinkStatsSaveProducer async mode: bufferSize={}, batchSize={}, overflowPolicy={}, aggregate={}",
+                buffer.capacity(), statsProducerProperties.getBatchSize(), statsProducerProperties.getOverflowPolicy(), aggregator != null);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(statsProducerProperties.getShutdownTimeoutMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // 缓冲区只允许一个消费者，后台线程退出后才能由当前线程接管
+        if (!flusher.isAlive()) {
+            drainRemaining();
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("LinkStatsSaveProducer shutdown with {} unsent stats events", buffer.size());
+        }
+    }
 
     /**
      * 发送延迟消费短链接统计
@@ -25,4 +99,169 @@ public class LinkStatsSaveProducer {
         // 写入消息
         stringRedisTemplate.opsForStream().add(SHORT_LINK_STATS_STREAM_TOPIC_KEY, producerMap);
     }
+
+    /**
+     * 发送短链接统计事件，异步模式下写入缓冲区后立即返回，停机后退化为同步发送
+     */
+    public void send(LinkStatsRecordDTO statsRecord) {
+        if (!running) {
+            send(Map.of(STATS_RECORD_FIELD, JSON.toJSONString(statsRecord)));
+            return;
+        }
+        if (!offer(statsRecord)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private boolean offer(LinkStatsRecordDTO statsRecord) {
+        StatsOverflowPolicyEnum policy = statsProducerProperties.getOverflowPolicy();
+        if (policy == StatsOverflowPolicyEnum.SAMPLE
+                && buffer.size() >= buffer.capacity() * statsProducerProperties.getSampleHighWatermark()
+                && ThreadLocalRandom.current().nextDouble() >= statsProducerProperties.getSampleRate()) {
+            return false;
+        }
+        if (buffer.offer(statsRecord)) {
+            return true;
+        }
+        if (policy != StatsOverflowPolicyEnum.BLOCK) {
+            return false;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(statsProducerProperties.getBlockTimeoutMillis());
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            if (buffer.offer(statsRecord)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void flushLoop() {
+        int batchSize = statsProducerProperties.getBatchSize();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(statsProducerProperties.getFlushIntervalMillis());
+        List<LinkStatsRecordDTO> batch = new ArrayList<>(batchSize);
+        long lastDropLogAt = System.currentTimeMillis();
+        while (true) {
+            boolean stopping = !running;
+            int drained = 0;
+            try {
+                drained = buffer.drainTo(batch, batchSize);
+                if (drained > 0) {
+                    if (aggregator != null) {
+                        batch.forEach(aggregator::add);
+                    } else {
+                        flushRecords(batch);
+                    }
+                    batch.clear();
+                }
+                if (aggregator != null && aggregator.shouldEmit(System.currentTimeMillis(), stopping)) {
+                    flushAggregates(aggregator.drain());
+                }
+            } catch (Throwable t) {
+                // 单批异常不能终止后台线程，否则缓冲区写满后所有统计事件都会被丢弃
+                dropped.addAndGet(batch.size());
+                log.error("Flush link stats batch error, dropped {} events", batch.size(), t);
+                batch.clear();
+                if (stopping) {
+                    return;
+                }
+            }
+            long now = System.currentTimeMillis();
+            if (drained == 0) {
+                if (stopping && (aggregator == null || aggregator.isEmpty())) {
+                    return;
+                }
+                LockSupport.parkNanos(idleNanos);
+            }
+            if (now - lastDropLogAt >= DROP_LOG_INTERVAL_MILLIS) {
+                long count = dropped.getAndSet(0);
+                if (count > 0) {
+                    log.warn("Dropped {} link stats events in the last {}ms, buffered={}", count, now - lastDropLogAt, buffer.size());
+                }
+                lastDropLogAt = now;
+            }
+        }
+    }
+
+    /**
+     * 后台线程退出后同步发送缓冲区剩余事件，覆盖 send 检查 running 之后才写入缓冲区的事件
+     */
+    private void drainRemaining() {
+        List<LinkStatsRecordDTO> batch = new ArrayList<>(statsProducerProperties.getBatchSize());
+        try {
+            while (buffer.drainTo(batch, statsProducerProperties.getBatchSize()) > 0) {
+                flushRecords(batch);
+                batch.clear();
+            }
+        } catch (Throwable t) {
+            log.error("Flush remaining link stats events error, dropped {} events", batch.size(), t);
+        }
+    }
+
+    private void flushRecords(List<LinkStatsRecordDTO> batch) {
+        List<byte[][]> commands = new ArrayList<>(batch.size());
+        for (LinkStatsRecordDTO each : batch) {
+            commands.add(xAddArgs(STATS_RECORD_FIELD, JSON.toJSONString(each)));
+        }
+        flush(commands, batch.size());
+    }
+
+    private void flushAggregates(List<LinkStatsAggregateDTO> aggregates) {
+        int batchSize = statsProducerProperties.getBatchSize();
+        List<byte[][]> commands = new ArrayList<>(Math.min(aggregates.size(), batchSize));
+        int events = 0;
+        for (LinkStatsAggregateDTO each : aggregates) {
+            commands.add(xAddArgs(STATS_AGGREGATE_FIELD, JSON.toJSONString(each)));
+            events += each.getPv();
+            if (commands.size() >= batchSize) {
+                flush(commands, events);
+                commands = new ArrayList<>(batchSize);
+                events = 0;
+            }
+        }
+        if (!commands.isEmpty()) {
+            flush(commands, events);
+        }
+    }
+
+    /**
+     * 以一次管道发送多条 XADD
+     * @param events 本批包含的访问数，发送失败丢弃时计入丢弃数
+     */
+    private void flush(List<byte[][]> commands, int events) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (byte[][] args : commands) {
+                        connection.execute("XADD", args);
+                    }
+                    return null;
+                });
+                return;
+            } catch (Throwable t) {
+                if (attempt >= statsProducerProperties.getMaxRetries() || !running) {
+                    dropped.addAndGet(events);
+                    log.error("Send link stats batch failed, dropped {} events", events, t);
+                    return;
+                }
+                log.warn("Send link stats batch error, retry attempt={}", attempt + 1, t);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100L << attempt));
+            }
+        }
+    }
+
+    private byte[][] xAddArgs(String field, String json) {
+        long maxLen = statsProducerProperties.getMaxLen();
+        List<byte[]> args = new ArrayList<>(7);
+        args.add(SHORT_LINK_STATS_STREAM_TOPIC_KEY.getBytes(StandardCharsets.UTF_8));
+        if (maxLen > 0) {
+            args.add("MAXLEN".getBytes(StandardCharsets.UTF_8));
+            args.add("~".getBytes(StandardCharsets.UTF_8));
+            args.add(String.valueOf(maxLen).getBytes(StandardCharsets.UTF_8));
+        }
+        args.add("*".getBytes(StandardCharsets.UTF_8));
+        args.add(field.getBytes(StandardCharsets.UTF_8));
+        args.add(json.getBytes(StandardCharsets.UTF_8));
+        return args.toArray(new byte[0][]);
+    }
 }
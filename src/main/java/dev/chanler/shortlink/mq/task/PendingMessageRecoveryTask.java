@@ -1,5 +1,6 @@
 package dev.chanler.shortlink.mq.task;
 
+import dev.chanler.shortlink.common.config.StatsConsumerProperties;
 import dev.chanler.shortlink.mq.consumer.LinkStatsSaveConsumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,7 +11,10 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static dev.chanler.shortlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_GROUP_KEY;
 import static dev.chanler.shortlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_TOPIC_KEY;
@@ -26,6 +30,7 @@ public class PendingMessageRecoveryTask {
     
     private final StringRedisTemplate stringRedisTemplate;
     private final LinkStatsSaveConsumer consumer;
+    private final StatsConsumerProperties statsConsumerProperties;
 
     @Scheduled(fixedRate = 30000) // 每30秒检查一次
     public void recoverPendingMessages() {
@@ -87,12 +92,31 @@ public class PendingMessageRecoveryTask {
                 return;
             }
 
+            // 批量消费模式下认领到的消息整批处理，超过最大投递次数的转入死信队列
+            StatsConsumerProperties.BatchProperties batch = statsConsumerProperties.getBatch();
+            if (batch.getEnable()) {
+                Map<RecordId, Long> deliveryCounts = new HashMap<>();
+                messages.forEach(each -> deliveryCounts.put(each.getId(), each.getTotalDeliveryCount()));
+                List<MapRecord<String, String, String>> retries = new ArrayList<>(claimed.size());
+                List<MapRecord<String, String, String>> exhausted = new ArrayList<>();
+                for (MapRecord<String, Object, Object> record : claimed) {
+                    if (deliveryCounts.getOrDefault(record.getId(), 0L) >= batch.getMaxDeliveries()) {
+                        exhausted.add(toStringRecord(record));
+                    } else {
+                        retries.add(toStringRecord(record));
+                    }
+                }
+                consumer.deadLetter(exhausted);
+                consumer.onMessages(retries);
+                log.info("PEL 巡检: 发现 {} 条 Pending，批量恢复 {} 条超时消息，{} 条转入死信队列",
+                         messages.size(), retries.size(), exhausted.size());
+                return;
+            }
+
             int recoveredCount = 0;
             for (MapRecord<String, Object, Object> record : claimed) {
                 try {
-                    MapRecord<String, String, String> typedRecord =
-                        (MapRecord<String, String, String>) (MapRecord<?, ?, ?>) record;
-                    consumer.onMessage(typedRecord);
+                    consumer.onMessage(toStringRecord(record));
                     recoveredCount++;
                 } catch (Exception e) {
                     log.error("恢复 Pending 消息失败: {}", record.getId(), e);
@@ -106,4 +130,11 @@ public class PendingMessageRecoveryTask {
             log.error("PEL 恢复任务执行失败", e);
         }
     }
+
+    /**
+     * StringRedisTemplate 读出的字段与值均为字符串，逐项转换类型，不做强制转换
+     */
+    private static MapRecord<String, String, String> toStringRecord(MapRecord<String, Object, Object> record) {
+        return record.mapEntries(entry -> Map.entry(String.valueOf(entry.getKey()), String.valueOf(entry.getValue())));
+    }
 }
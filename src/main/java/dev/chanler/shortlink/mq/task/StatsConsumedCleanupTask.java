@@ -0,0 +1,55 @@
+package dev.chanler.shortlink.mq.task;
+
+import dev.chanler.shortlink.common.config.StatsConsumerProperties;
+import dev.chanler.shortlink.dao.mapper.LinkStatsConsumedMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已消费统计消息清理任务
+ * 消费记录只用于识别 ACK 失败后被巡检重投的消息，超过保留时长后分批删除
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatsConsumedCleanupTask {
+
+    private final LinkStatsConsumedMapper linkStatsConsumedMapper;
+    private final StatsConsumerProperties statsConsumerProperties;
+
+    /**
+     * 单次 DELETE 的最大行数，避免长事务
+     */
+    private static final int DELETE_BATCH_SIZE = 5000;
+
+    /**
+     * 每小时执行一次清理
+     */
+    @Scheduled(fixedRate = 3_600_000)
+    public void cleanupConsumedRecords() {
+        StatsConsumerProperties.BatchProperties batch = statsConsumerProperties.getBatch();
+        if (!batch.getEnable() || !batch.getDbDedup()) {
+            return;
+        }
+        try {
+            Date before = new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(batch.getConsumedRetentionHours()));
+            int total = 0;
+            int deleted;
+            do {
+                deleted = linkStatsConsumedMapper.deleteBefore(before, DELETE_BATCH_SIZE);
+                total += deleted;
+            } while (deleted == DELETE_BATCH_SIZE);
+            if (total > 0) {
+                log.info("消费记录清理成功: 删除 {} 条 {} 之前的记录", total, before);
+            }
+        } catch (Exception e) {
+            log.error("消费记录清理失败", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package dev.chanler.shortlink.service;
+
+import dev.chanler.shortlink.dto.resp.LinkImportJobRespDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 短链接批量导入接口层
+ * @author: Chanler
+ */
+public interface LinkImportService {
+
+    /**
+     * 提交导入任务：请求体流式落盘后异步执行
+     * @param gid 分组标识
+     * @param format 文件格式 csv / ndjson
+     * @param request 请求体为上传文件内容
+     * @return 任务标识
+     */
+    String submit(String gid, String format, HttpServletRequest request);
+
+    /**
+     * 查询导入任务进度
+     * @param jobId 任务标识
+     * @return LinkImportJobRespDTO
+     */
+    LinkImportJobRespDTO getJob(String jobId);
+
+    /**
+     * 下载导入结果文件（CSV）
+     * @param jobId 任务标识
+     * @param response HttpServletResponse
+     */
+    void downloadResult(String jobId, HttpServletResponse response);
+}
@@ -1,5 +1,8 @@
 package dev.chanler.shortlink.service;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * URL 标题接口层
  * @author: Chanler
@@ -12,4 +15,11 @@ public interface UrlTitleService {
      * @return 标题
      */
     String getTitleByUrl(String url);
+
+    /**
+     * 批量获取标题，各 URL 并行抓取
+     * @param urls URL 列表
+     * @return URL → 标题，按请求顺序排列，获取失败为空字符串
+     */
+    Map<String, String> getTitlesByUrls(List<String> urls);
 }
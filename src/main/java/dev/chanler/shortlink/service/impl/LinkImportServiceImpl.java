@@ -0,0 +1,499 @@
+package dev.chanler.shortlink.service.impl;
+
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.text.csv.CsvReadConfig;
+import cn.hutool.core.text.csv.CsvUtil;
+import cn.hutool.core.text.csv.CsvWriter;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONObject;
+import com.google.common.util.concurrent.RateLimiter;
+import dev.chanler.shortlink.common.biz.user.GroupOwnershipVerifier;
+import dev.chanler.shortlink.common.biz.user.UserContext;
+import dev.chanler.shortlink.common.config.LinkImportProperties;
+import dev.chanler.shortlink.common.convention.exception.ClientException;
+import dev.chanler.shortlink.common.convention.exception.ServiceException;
+import dev.chanler.shortlink.common.enums.LinkImportJobStatusEnum;
+import dev.chanler.shortlink.dto.req.LinkBatchCreateReqDTO;
+import dev.chanler.shortlink.dto.resp.LinkBaseInfoRespDTO;
+import dev.chanler.shortlink.dto.resp.LinkBatchCreateFailRespDTO;
+import dev.chanler.shortlink.dto.resp.LinkBatchCreateRespDTO;
+import dev.chanler.shortlink.dto.resp.LinkImportJobRespDTO;
+import dev.chanler.shortlink.service.LinkImportService;
+import dev.chanler.shortlink.service.LinkService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.LINK_IMPORT_JOB_KEY;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.LINK_IMPORT_RUNNING_KEY;
+
+/**
+ * 短链接批量导入接口实现层
+ * 面向百万级链接迁移，整个过程内存占用只与批大小有关：
+ * 1. 提交时请求体按块写入本地文件，随即返回任务标识，不在请求线程内解析或创建
+ * 2. 任务线程逐行解析 CSV / NDJSON，每凑满一批调用批量创建：整批预留短码、按分片多值插入、一次管道预热缓存
+ * 3. 每批结果立即追加到结果文件，进度写入 Redis 任务 Hash，任何节点均可查询
+ * 导入不经过 RateLimitFilter 的批量接口计费，而是按行消耗独立的 importRateLimiter 令牌，任务线程阻塞等待
+ * 结果文件只保存在执行任务的节点，下载请求须路由到该节点（任务 Hash 记录了 node）
+ * @author: Chanler
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LinkImportServiceImpl implements LinkImportService {
+
+    private static final String INPUT_SUFFIX = ".input";
+    private static final String RESULT_SUFFIX = ".result.csv";
+    private static final String[] RESULT_HEADER = {"line", "originUrl", "fullShortUrl", "error"};
+    // 导入的短链接按控制台创建记录
+    private static final int IMPORT_CREATED_TYPE = 1;
+    private static final String NODE_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    private static final String FIELD_USERNAME = "username";
+    private static final String FIELD_GID = "gid";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_PROCESSED = "processed";
+    private static final String FIELD_SUCCESS = "success";
+    private static final String FIELD_FAILED = "failed";
+    private static final String FIELD_MESSAGE = "message";
+    private static final String FIELD_NODE = "node";
+    private static final String FIELD_CREATE_TIME = "createTime";
+    private static final String FIELD_FINISH_TIME = "finishTime";
+
+    private final LinkService linkService;
+    private final GroupOwnershipVerifier groupOwnershipService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LinkImportProperties linkImportProperties;
+    @Qualifier("importRateLimiter")
+    private final RateLimiter importRateLimiter;
+
+    private Path workDir;
+
+    private ExecutorService importExecutor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        workDir = Files.createDirectories(Paths.get(linkImportProperties.getWorkDir()));
+        AtomicInteger index = new AtomicInteger();
+        importExecutor = new ThreadPoolExecutor(
+                linkImportProperties.getConcurrency(),
+                linkImportProperties.getConcurrency(),
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(linkImportProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "link-import-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void destroy() {
+        importExecutor.shutdownNow();
+    }
+
+    @Override
+    public String submit(String gid, String format, HttpServletRequest request) {
+        String username = UserContext.getUsername();
+        groupOwnershipService.assertOwnedByCurrentUser(gid);
+        ImportFormat importFormat = ImportFormat.of(format);
+        String runningKey = String.format(LINK_IMPORT_RUNNING_KEY, username);
+        Long running = stringRedisTemplate.opsForValue().increment(runningKey);
+        stringRedisTemplate.expire(runningKey, linkImportProperties.getRetentionHours(), TimeUnit.HOURS);
+        if (running != null && running > linkImportProperties.getMaxRunningJobsPerUser()) {
+            stringRedisTemplate.opsForValue().decrement(runningKey);
+            throw new ClientException("进行中的导入任务过多，请稍后再试");
+        }
+        String jobId = IdUtil.fastSimpleUUID();
+        String jobKey = String.format(LINK_IMPORT_JOB_KEY, jobId);
+        Path input = workDir.resolve(jobId + INPUT_SUFFIX);
+        try {
+            receive(request, input);
+            Map<String, String> job = new HashMap<>();
+            job.put(FIELD_USERNAME, username);
+            job.put(FIELD_GID, gid);
+            job.put(FIELD_STATUS, LinkImportJobStatusEnum.PENDING.name());
+            job.put(FIELD_PROCESSED, "0");
+            job.put(FIELD_SUCCESS, "0");
+            job.put(FIELD_FAILED, "0");
+            job.put(FIELD_NODE, NODE_ID);
+            job.put(FIELD_CREATE_TIME, String.valueOf(System.currentTimeMillis()));
+            stringRedisTemplate.opsForHash().putAll(jobKey, job);
+            stringRedisTemplate.expire(jobKey, linkImportProperties.getRetentionHours(), TimeUnit.HOURS);
+            importExecutor.execute(() -> runJob(jobId, username, gid, importFormat, input));
+        } catch (RejectedExecutionException ex) {
+            abandon(jobKey, input, runningKey);
+            throw new ClientException("导入任务繁忙，请稍后再试");
+        } catch (RuntimeException ex) {
+            abandon(jobKey, input, runningKey);
+            throw ex;
+        }
+        return jobId;
+    }
+
+    @Override
+    public LinkImportJobRespDTO getJob(String jobId) {
+        Map<Object, Object> job = loadOwnedJob(jobId);
+        return LinkImportJobRespDTO.builder()
+                .jobId(jobId)
+                .gid((String) job.get(FIELD_GID))
+                .status((String) job.get(FIELD_STATUS))
+                .processed(parseLong(job.get(FIELD_PROCESSED)))
+                .success(parseLong(job.get(FIELD_SUCCESS)))
+                .failed(parseLong(job.get(FIELD_FAILED)))
+                .message((String) job.get(FIELD_MESSAGE))
+                .createTime(parseDate(job.get(FIELD_CREATE_TIME)))
+                .finishTime(parseDate(job.get(FIELD_FINISH_TIME)))
+                .build();
+    }
+
+    @Override
+    public void downloadResult(String jobId, HttpServletResponse response) {
+        Map<Object, Object> job = loadOwnedJob(jobId);
+        Object status = job.get(FIELD_STATUS);
+        if (!Objects.equals(status, LinkImportJobStatusEnum.SUCCEEDED.name())
+                && !Objects.equals(status, LinkImportJobStatusEnum.FAILED.name())) {
+            throw new ClientException("导入任务尚未结束");
+        }
+        if (!Objects.equals(job.get(FIELD_NODE), NODE_ID)) {
+            throw new ClientException("导入结果文件不在当前节点，请稍后重试");
+        }
+        Path result = workDir.resolve(jobId + RESULT_SUFFIX);
+        if (!Files.exists(result)) {
+            throw new ClientException("导入结果文件不存在或已过期");
+        }
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"import-" + jobId + ".csv\"");
+        try {
+            response.setContentLengthLong(Files.size(result));
+            Files.copy(result, response.getOutputStream());
+        } catch (IOException ex) {
+            log.warn("Download import result error, jobId={}", jobId, ex);
+        }
+    }
+
+    /**
+     * 每小时清理超过保留时间的上传文件与结果文件
+     */
+    @Scheduled(fixedDelay = 3_600_000)
+    public void cleanExpiredFiles() {
+        long expireBefore = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(linkImportProperties.getRetentionHours());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(workDir)) {
+            for (Path each : files) {
+                if (Files.getLastModifiedTime(each).toMillis() < expireBefore) {
+                    Files.deleteIfExists(each);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Clean import files error, workDir={}", workDir, ex);
+        }
+    }
+
+    /**
+     * 请求体按块写入本地文件，超过大小上限立即中止
+     */
+    private void receive(HttpServletRequest request, Path input) {
+        long maxFileBytes = linkImportProperties.getMaxFileBytes();
+        if (request.getContentLengthLong() > maxFileBytes) {
+            throw new ClientException("导入文件超过大小上限");
+        }
+        long total = 0;
+        try (InputStream in = request.getInputStream(); OutputStream out = Files.newOutputStream(input)) {
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+                if (total > maxFileBytes) {
+                    throw new ClientException("导入文件超过大小上限");
+                }
+                out.write(buffer, 0, n);
+            }
+        } catch (IOException ex) {
+            throw new ServiceException("导入文件接收失败");
+        }
+        if (total == 0) {
+            throw new ClientException("导入文件不能为空");
+        }
+    }
+
+    private void runJob(String jobId, String username, String gid, ImportFormat format, Path input) {
+        String jobKey = String.format(LINK_IMPORT_JOB_KEY, jobId);
+        // 批量创建沿用请求链路的分组鉴权，任务线程内还原提交者
+        UserContext.setUsername(username);
+        try (CsvWriter writer = CsvUtil.getWriter(workDir.resolve(jobId + RESULT_SUFFIX).toFile(), StandardCharsets.UTF_8);
+             InputStream in = Files.newInputStream(input)) {
+            stringRedisTemplate.opsForHash().put(jobKey, FIELD_STATUS, LinkImportJobStatusEnum.RUNNING.name());
+            writer.writeHeaderLine(RESULT_HEADER);
+            ImportRun run = new ImportRun(jobKey, gid, writer);
+            try {
+                if (format == ImportFormat.CSV) {
+                    readCsv(in, run);
+                } else {
+                    readNdjson(in, run);
+                }
+                run.flush();
+                finish(jobKey, LinkImportJobStatusEnum.SUCCEEDED, null);
+            } finally {
+                writer.flush();
+            }
+        } catch (Throwable ex) {
+            log.error("Link import job failed, jobId={}", jobId, ex);
+            finish(jobKey, LinkImportJobStatusEnum.FAILED,
+                    ex instanceof ClientException clientException ? clientException.getErrorMessage() : "导入任务执行失败");
+        } finally {
+            UserContext.removeUser();
+            deleteQuietly(input);
+            stringRedisTemplate.opsForValue().decrement(String.format(LINK_IMPORT_RUNNING_KEY, username));
+        }
+    }
+
+    /**
+     * CSV：第一列 originUrl，第二列 describe，首行为表头时跳过
+     */
+    private void readCsv(InputStream in, ImportRun run) {
+        CsvReadConfig config = CsvReadConfig.defaultConfig()
+                .setSkipEmptyRows(true)
+                .setTrimField(true);
+        CsvUtil.getReader(config).read(IoUtil.getBomReader(in), row -> {
+            String originUrl = row.size() > 0 ? row.get(0) : null;
+            if (row.getOriginalLineNumber() == 0
+                    && ("originUrl".equalsIgnoreCase(originUrl) || "origin_url".equalsIgnoreCase(originUrl))) {
+                return;
+            }
+            run.accept(new ImportRow(row.getOriginalLineNumber() + 1, originUrl, row.size() > 1 ? row.get(1) : null, null));
+        });
+    }
+
+    /**
+     * NDJSON：每行一个 {"originUrl": "...", "describe": "..."}
+     */
+    private void readNdjson(InputStream in, ImportRun run) throws IOException {
+        BufferedReader reader = IoUtil.getReader(IoUtil.getBomReader(in));
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (StrUtil.isBlank(text)) {
+                continue;
+            }
+            JSONObject row;
+            try {
+                row = JSON.parseObject(text);
+            } catch (JSONException ex) {
+                row = null;
+            }
+            if (row == null) {
+                run.accept(new ImportRow(line, null, null, "数据格式错误"));
+                continue;
+            }
+            run.accept(new ImportRow(line, row.getString("originUrl"), row.getString("describe"), null));
+        }
+    }
+
+    private void finish(String jobKey, LinkImportJobStatusEnum status, String message) {
+        try {
+            Map<String, String> fields = new HashMap<>();
+            fields.put(FIELD_STATUS, status.name());
+            fields.put(FIELD_FINISH_TIME, String.valueOf(System.currentTimeMillis()));
+            if (message != null) {
+                fields.put(FIELD_MESSAGE, message);
+            }
+            stringRedisTemplate.opsForHash().putAll(jobKey, fields);
+            stringRedisTemplate.expire(jobKey, linkImportProperties.getRetentionHours(), TimeUnit.HOURS);
+        } catch (Throwable t) {
+            log.warn("Update import job status error, jobKey={}", jobKey, t);
+        }
+    }
+
+    private void abandon(String jobKey, Path input, String runningKey) {
+        deleteQuietly(input);
+        stringRedisTemplate.delete(jobKey);
+        stringRedisTemplate.opsForValue().decrement(runningKey);
+    }
+
+    /**
+     * 读取任务，非提交者按不存在处理
+     */
+    private Map<Object, Object> loadOwnedJob(String jobId) {
+        Map<Object, Object> job = stringRedisTemplate.opsForHash().entries(String.format(LINK_IMPORT_JOB_KEY, jobId));
+        if (job.isEmpty() || !Objects.equals(job.get(FIELD_USERNAME), UserContext.getUsername())) {
+            throw new ClientException("导入任务不存在或已过期");
+        }
+        return job;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Delete import file error, path={}", path, ex);
+        }
+    }
+
+    private static Long parseLong(Object value) {
+        return value == null ? 0L : Long.parseLong(value.toString());
+    }
+
+    private static Date parseDate(Object value) {
+        return value == null ? null : new Date(Long.parseLong(value.toString()));
+    }
+
+    /**
+     * 单个任务的批次缓冲，只持有当前一批的行
+     */
+    private final class ImportRun {
+
+        private final String jobKey;
+        private final String gid;
+        private final CsvWriter writer;
+        private final List<ImportRow> rows;
+        private long processed;
+        private long success;
+        private long failed;
+
+        ImportRun(String jobKey, String gid, CsvWriter writer) {
+            this.jobKey = jobKey;
+            this.gid = gid;
+            this.writer = writer;
+            this.rows = new ArrayList<>(linkImportProperties.getChunkSize());
+        }
+
+        void accept(ImportRow row) {
+            rows.add(row);
+            if (rows.size() >= linkImportProperties.getChunkSize()) {
+                flush();
+            }
+        }
+
+        /**
+         * 创建当前一批，逐行写入结果并更新进度
+         */
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            String[] fullShortUrls = new String[rows.size()];
+            String[] errors = new String[rows.size()];
+            List<Integer> positions = new ArrayList<>(rows.size());
+            List<String> originUrls = new ArrayList<>(rows.size());
+            List<String> describes = new ArrayList<>(rows.size());
+            for (int k = 0; k < rows.size(); k++) {
+                ImportRow row = rows.get(k);
+                if (row.error() != null) {
+                    errors[k] = row.error();
+                    continue;
+                }
+                positions.add(k);
+                originUrls.add(row.originUrl());
+                describes.add(row.describe());
+            }
+            if (!positions.isEmpty()) {
+                importRateLimiter.acquire(positions.size());
+                LinkBatchCreateReqDTO linkBatchCreateReqDTO = new LinkBatchCreateReqDTO();
+                linkBatchCreateReqDTO.setGid(gid);
+                linkBatchCreateReqDTO.setCreatedType(IMPORT_CREATED_TYPE);
+                linkBatchCreateReqDTO.setOriginUrls(originUrls);
+                linkBatchCreateReqDTO.setDescribes(describes);
+                try {
+                    LinkBatchCreateRespDTO resp = linkService.batchCreateLink(linkBatchCreateReqDTO);
+                    // 成功条目按请求顺序排列，失败条目带请求下标，二者合起来覆盖整批
+                    Map<Integer, String> reasons = new HashMap<>();
+                    if (resp.getFailures() != null) {
+                        for (LinkBatchCreateFailRespDTO each : resp.getFailures()) {
+                            reasons.putIfAbsent(each.getIndex(), each.getReason());
+                        }
+                    }
+                    Iterator<LinkBaseInfoRespDTO> created = resp.getBaseLinkInfos().iterator();
+                    for (int j = 0; j < positions.size(); j++) {
+                        int k = positions.get(j);
+                        String reason = reasons.get(j);
+                        if (reason == null && created.hasNext()) {
+                            fullShortUrls[k] = created.next().getFullShortUrl();
+                        } else {
+                            errors[k] = reason != null ? reason : "短链接创建失败";
+                        }
+                    }
+                } catch (ClientException ex) {
+                    // 分组鉴权失败等整批无法继续的情况，中止任务
+                    throw ex;
+                } catch (RuntimeException ex) {
+                    log.error("Link import chunk failed, jobKey={}, size={}", jobKey, positions.size(), ex);
+                    positions.forEach(k -> errors[k] = "短链接创建失败");
+                }
+            }
+            for (int k = 0; k < rows.size(); k++) {
+                ImportRow row = rows.get(k);
+                writer.writeLine(String.valueOf(row.line()), row.originUrl(), fullShortUrls[k], errors[k]);
+                if (errors[k] == null) {
+                    success++;
+                } else {
+                    failed++;
+                }
+            }
+            processed += rows.size();
+            rows.clear();
+            writer.flush();
+            Map<String, String> progress = new HashMap<>();
+            progress.put(FIELD_PROCESSED, String.valueOf(processed));
+            progress.put(FIELD_SUCCESS, String.valueOf(success));
+            progress.put(FIELD_FAILED, String.valueOf(failed));
+            stringRedisTemplate.opsForHash().putAll(jobKey, progress);
+        }
+    }
+
+    /**
+     * 导入文件中的一行，error 非空表示解析阶段已失败
+     */
+    private record ImportRow(long line, String originUrl, String describe, String error) {}
+
+    private enum ImportFormat {
+
+        CSV, NDJSON;
+
+        static ImportFormat of(String format) {
+            for (ImportFormat each : values()) {
+                if (each.name().equalsIgnoreCase(format)) {
+                    return each;
+                }
+            }
+            throw new ClientException("不支持的导入格式，仅支持 csv / ndjson");
+        }
+    }
+}
@@ -2,22 +2,29 @@ package dev.chanler.shortlink.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.lang.UUID;
 import cn.hutool.core.text.StrBuilder;
 import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
-import com.alibaba.fastjson2.JSON;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import dev.chanler.shortlink.common.biz.link.DomainPolicy;
+import dev.chanler.shortlink.common.biz.link.FaviconEnricher;
+import dev.chanler.shortlink.common.biz.link.LinkCacheSynchronizer;
+import dev.chanler.shortlink.common.biz.link.OriginUrlDedupIndex;
+import dev.chanler.shortlink.common.biz.link.RedirectTarget;
+import dev.chanler.shortlink.common.biz.link.ShortLinkBloomFilterReplica;
 import dev.chanler.shortlink.common.biz.user.GroupOwnershipVerifier;
 import dev.chanler.shortlink.common.biz.user.UserContext;
-import dev.chanler.shortlink.common.config.GotoDomainWhiteListConfiguration;
 import dev.chanler.shortlink.common.convention.exception.ClientException;
 import dev.chanler.shortlink.common.convention.exception.ServiceException;
+import dev.chanler.shortlink.common.database.LinkTableShardingAlgorithm;
 import dev.chanler.shortlink.common.enums.ValidDateTypeEnum;
 import dev.chanler.shortlink.dao.entity.LinkDO;
 import dev.chanler.shortlink.dao.entity.LinkGotoDO;
@@ -30,10 +37,12 @@ import dev.chanler.shortlink.dto.req.LinkCreateReqDTO;
 import dev.chanler.shortlink.dto.req.LinkPageReqDTO;
 import dev.chanler.shortlink.dto.req.LinkUpdateReqDTO;
 import dev.chanler.shortlink.dto.resp.*;
-import dev.chanler.shortlink.mq.consumer.LinkStatsSaveConsumer;
 import dev.chanler.shortlink.mq.producer.LinkStatsSaveProducer;
 import dev.chanler.shortlink.service.LinkService;
+import dev.chanler.shortlink.toolkit.HashModShardingUtil;
 import dev.chanler.shortlink.toolkit.LinkUtil;
+import dev.chanler.shortlink.toolkit.ParsedUrl;
+import dev.chanler.shortlink.toolkit.ShortCodeAllocator;
 import dev.chanler.shortlink.toolkit.ShortCodeUtil;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.ServletRequest;
@@ -44,32 +53,31 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Cache;
-import org.redisson.api.RBloomFilter;
 import org.redisson.api.RLock;
 import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RedissonClient;
-
-import java.util.concurrent.locks.ReentrantLock;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static dev.chanler.shortlink.common.constant.LinkConstant.UV_COOKIE_MAX_AGE_SECONDS;
 import static dev.chanler.shortlink.common.constant.RedisKeyConstant.*;
 import static dev.chanler.shortlink.common.constant.UserConstant.PUBLIC_GID;
 import static dev.chanler.shortlink.common.constant.UserConstant.PUBLIC_USERNAME;
+import static dev.chanler.shortlink.toolkit.HashModShardingUtil.LINK_GOTO_TABLE_SHARDING_COUNT;
 
 /**
  * 短链接接口实现层
@@ -80,26 +88,27 @@ import static dev.chanler.shortlink.common.constant.UserConstant.PUBLIC_USERNAME
 @RequiredArgsConstructor
 public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements LinkService {
 
-    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+    private final ShortLinkBloomFilterReplica shortLinkBloomFilterReplica;
     private final LinkGotoMapper linkGotoMapper;
     private final StringRedisTemplate stringRedisTemplate;
     private final RedissonClient redissonClient;
     private final LinkAccessStatsMapper linkAccessStatsMapper;
-    private final GotoDomainWhiteListConfiguration gotoDomainWhiteListConfiguration;
+    private final DomainPolicy domainPolicy;
     private final LinkStatsSaveProducer linkStatsSaveProducer;
-    private final LinkStatsSaveConsumer linkStatsSaveConsumer;
     private final GroupOwnershipVerifier groupOwnershipService;
-    private final LinkUtil linkUtil;
-    // 本地每键互斥锁缓存（避免跳转路径使用分布式锁）
-    private final Cache<String, ReentrantLock> redirectLockCache;
-    // 短链接跳转目标 URL 本地缓存（减少 Redis 网络往返）
-    private final Cache<String, String> redirectCache;
+    private final FaviconEnricher faviconEnricher;
+    private final OriginUrlDedupIndex originUrlDedupIndex;
+    // 短链接跳转目标 URL 本地缓存（单飞回源 + 后台刷新）
+    private final AsyncLoadingCache<String, RedirectTarget> redirectCache;
+    // 不存在短链接的本地空值缓存
+    private final Cache<String, Boolean> redirectNullCache;
+    private final LinkCacheSynchronizer linkCacheSynchronizer;
+    private final TransactionTemplate transactionTemplate;
 
     private DefaultRedisScript<List> hllBatchScript;
     private static final String HLL_PFCOUNT_BATCH_LUA = "lua/hll_pfcount_batch.lua";
-
-    @Value("${short-link.domain.default}")
-    private String createLinkDefaultDomain;
+    // 单条多值 INSERT 的最大行数
+    private static final int BATCH_INSERT_CHUNK_SIZE = 500;
 
     @PostConstruct
     public void init() {
@@ -111,49 +120,34 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
     @Transactional(rollbackFor = Exception.class)
     @Override
     public LinkCreateRespDTO createLink(LinkCreateReqDTO linkCreateReqDTO) {
-        // 未登录（public）创建：强制使用公共分组
-        String currentUsername = UserContext.getUsername();
-        if (java.util.Objects.equals(currentUsername, PUBLIC_USERNAME)) {
-            linkCreateReqDTO.setGid(PUBLIC_GID);
-        } else {
-            // 鉴权：校验分组归属
-            groupOwnershipService.assertOwnedByCurrentUser(linkCreateReqDTO.getGid());
-        }
-        verificationWhitelist(linkCreateReqDTO.getOriginUrl());
-        
-        // 设置默认值
-        if (linkCreateReqDTO.getCreatedType() == null) {
-            linkCreateReqDTO.setCreatedType(0);
-        }
-        if (linkCreateReqDTO.getValidDateType() == null) {
-            linkCreateReqDTO.setValidDateType(ValidDateTypeEnum.CUSTOM.getType());
-        }
-        
-        // 处理有效期逻辑，限制最大3天
-        Date now = new Date();
-        Date maxValidDate = DateUtil.offsetDay(now, 3);
-        
-        if (linkCreateReqDTO.getValidDate() == null) {
-            // 如果没有传入validDate，默认设置为1天后
-            linkCreateReqDTO.setValidDate(DateUtil.offsetDay(now, 1));
-        } else if (linkCreateReqDTO.getValidDate().after(maxValidDate)) {
-            // 如果传入的validDate超过3天，修正为3天
-            linkCreateReqDTO.setValidDate(maxValidDate);
-        }
-        
-        // 确保不是永久有效
-        if (linkCreateReqDTO.getValidDateType() == ValidDateTypeEnum.PERMANENT.getType()) {
-            linkCreateReqDTO.setValidDateType(ValidDateTypeEnum.CUSTOM.getType());
+        resolveCreateGid(linkCreateReqDTO);
+        // 原始链接只解析一次，域名校验、去重与 favicon 共用
+        ParsedUrl parsedUrl = ParsedUrl.parse(linkCreateReqDTO.getOriginUrl());
+        domainPolicy.verify(parsedUrl);
+        applyCreateDefaults(linkCreateReqDTO);
+        // 去重模式：同分组下已有相同原始链接的存活短链接时直接返回
+        if (originUrlDedupIndex.isEnable()) {
+            LinkDO existing = originUrlDedupIndex.find(linkCreateReqDTO.getGid(), parsedUrl);
+            if (existing != null) {
+                return LinkCreateRespDTO.builder()
+                        .fullShortUrl("http://" + existing.getFullShortUrl())
+                        .originUrl(existing.getOriginUrl())
+                        .gid(existing.getGid())
+                        .build();
+            }
         }
-        
-        String shortCode = ShortCodeUtil.next();
-        String fullShortUrl = StrBuilder.create(createLinkDefaultDomain)
+
+        // 按分组路由到短码命名空间，未单独配置的分组使用默认域名
+        ShortCodeAllocator shortCodeAllocator = ShortCodeUtil.allocatorFor(linkCreateReqDTO.getGid());
+        String shortCode = shortCodeAllocator.next();
+        String fullShortUrl = StrBuilder.create(shortCodeAllocator.domain())
                 .append("/")
                 .append(shortCode)
                 .toString();
         LinkDO shortLinkDO = LinkDO.builder()
-                .domain(createLinkDefaultDomain)
+                .domain(shortCodeAllocator.domain())
                 .originUrl(linkCreateReqDTO.getOriginUrl())
+                .originUrlHash(OriginUrlDedupIndex.hash(parsedUrl))
                 .gid(linkCreateReqDTO.getGid())
                 .createdType(linkCreateReqDTO.getCreatedType())
                 .validDateType(linkCreateReqDTO.getValidDateType())
@@ -166,34 +160,23 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                 .totalUip(0)
                 .delTime(0L)
                 .fullShortUrl(fullShortUrl)
-                .favicon(linkUtil.getFavicon(linkCreateReqDTO.getOriginUrl()))
-                .build();
-        LinkGotoDO linkGotoDO = LinkGotoDO.builder()
-                .fullShortUrl(fullShortUrl)
-                .gid(linkCreateReqDTO.getGid())
+                .favicon(faviconEnricher.peek(parsedUrl))
                 .build();
         try {
             baseMapper.insert(shortLinkDO);
-            linkGotoMapper.insert(linkGotoDO);
+            linkGotoMapper.insert(toLinkGoto(shortLinkDO));
         } catch (DuplicateKeyException ex) {
             // 首先判断是否存在布隆过滤器，如果不存在直接新增
-            if (!shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl)) {
-                shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
+            if (!shortLinkBloomFilterReplica.contains(fullShortUrl)) {
+                shortLinkBloomFilterReplica.add(fullShortUrl);
             }
             throw new ServiceException(String.format("短链接：%s 生成重复", fullShortUrl));
         }
-        // 缓存预热
-        stringRedisTemplate.opsForValue().set(
-                String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
-                linkCreateReqDTO.getOriginUrl(),
-                LinkUtil.getLinkCacheValidTime(linkCreateReqDTO.getValidDate()), TimeUnit.MILLISECONDS
-        );
-        try {
-            stringRedisTemplate.delete(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
-        } catch (Throwable t) {
-            log.warn("Clear negative cache on create error, fullShortUrl={}", fullShortUrl, t);
+        if (shortLinkDO.getFavicon() == null) {
+            faviconEnricher.enrichAfterCommit(shortLinkDO.getGid(), fullShortUrl, shortLinkDO.getOriginUrl());
         }
-        shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
+        // 缓存预热、空值 Key 删除、布隆过滤器新增与本地缓存失效广播在事务提交后以一次管道发出
+        linkCacheSynchronizer.warmUp(shortLinkDO);
         return LinkCreateRespDTO.builder()
                 .fullShortUrl("http://" + shortLinkDO.getFullShortUrl())
                 .originUrl(linkCreateReqDTO.getOriginUrl())
@@ -207,7 +190,8 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
         // 鉴权：旧、新分组均需属于当前用户
         groupOwnershipService.assertOwnedByCurrentUser(linkUpdateReqDTO.getOriginGid());
         groupOwnershipService.assertOwnedByCurrentUser(linkUpdateReqDTO.getGid());
-        verificationWhitelist(linkUpdateReqDTO.getOriginUrl());
+        ParsedUrl parsedUrl = ParsedUrl.parse(linkUpdateReqDTO.getOriginUrl());
+        domainPolicy.verify(parsedUrl);
         LambdaQueryWrapper<LinkDO> queryWrapper = Wrappers.lambdaQuery(LinkDO.class)
                 .eq(LinkDO::getGid, linkUpdateReqDTO.getOriginGid())
                 .eq(LinkDO::getFullShortUrl, linkUpdateReqDTO.getFullShortUrl())
@@ -217,6 +201,8 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
         if (hasLinkDO == null) {
             throw new ClientException("短链接记录不存在");
         }
+        boolean originUrlChanged = !Objects.equals(linkUpdateReqDTO.getOriginUrl(), hasLinkDO.getOriginUrl());
+        String favicon = originUrlChanged ? faviconEnricher.peek(parsedUrl) : hasLinkDO.getFavicon();
         if (Objects.equals(hasLinkDO.getGid(), linkUpdateReqDTO.getGid())) {
             LambdaUpdateWrapper<LinkDO> updateWrapper = Wrappers.lambdaUpdate(LinkDO.class)
                     .eq(LinkDO::getFullShortUrl, linkUpdateReqDTO.getFullShortUrl())
@@ -224,18 +210,23 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                     .eq(LinkDO::getDelFlag, 0)
                     .eq(LinkDO::getEnableStatus, 0)
                     .set(Objects.equals(linkUpdateReqDTO.getValidDateType(), ValidDateTypeEnum.PERMANENT.getType()), LinkDO::getValidDate, null);
+            // 分组未变，不在 SET 中写分片键 gid：热点分组只凭 gid 会路由到多张表，与 WHERE 的单表路由不一致
             LinkDO linkDO = LinkDO.builder()
                     .domain(hasLinkDO.getDomain())
                     .shortUri(hasLinkDO.getShortUri())
-                    .favicon(Objects.equals(linkUpdateReqDTO.getOriginUrl(), hasLinkDO.getOriginUrl()) ? hasLinkDO.getFavicon() : linkUtil.getFavicon(linkUpdateReqDTO.getOriginUrl()))
+                    .favicon(favicon)
                     .createdType(hasLinkDO.getCreatedType())
-                    .gid(linkUpdateReqDTO.getGid())
                     .originUrl(linkUpdateReqDTO.getOriginUrl())
+                    .originUrlHash(OriginUrlDedupIndex.hash(parsedUrl))
                     .describe(linkUpdateReqDTO.getDescribe())
                     .validDateType(linkUpdateReqDTO.getValidDateType())
                     .validDate(linkUpdateReqDTO.getValidDate())
                     .build();
             baseMapper.update(linkDO, updateWrapper);
+            Date validDate = Objects.equals(linkUpdateReqDTO.getValidDateType(), ValidDateTypeEnum.PERMANENT.getType())
+                    ? null
+                    : ObjectUtil.defaultIfNull(linkUpdateReqDTO.getValidDate(), hasLinkDO.getValidDate());
+            linkGotoMapper.updateTarget(linkUpdateReqDTO.getFullShortUrl(), linkUpdateReqDTO.getOriginUrl(), validDate);
         } else {
             RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(String.format(LOCK_GID_UPDATE_KEY, linkUpdateReqDTO.getFullShortUrl()));
             RLock rLock = readWriteLock.writeLock();
@@ -253,8 +244,9 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                 delLinkDO.setDelFlag(1);
                 baseMapper.update(delLinkDO, linkUpdateWrapper);
                 LinkDO linkDO = LinkDO.builder()
-                        .domain(createLinkDefaultDomain)
+                        .domain(hasLinkDO.getDomain())
                         .originUrl(linkUpdateReqDTO.getOriginUrl())
+                        .originUrlHash(OriginUrlDedupIndex.hash(parsedUrl))
                         .gid(linkUpdateReqDTO.getGid())
                         .createdType(hasLinkDO.getCreatedType())
                         .validDateType(linkUpdateReqDTO.getValidDateType())
@@ -266,35 +258,34 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                         .totalUv(hasLinkDO.getTotalUv())
                         .totalUip(hasLinkDO.getTotalUip())
                         .fullShortUrl(hasLinkDO.getFullShortUrl())
-                        .favicon(Objects.equals(linkUpdateReqDTO.getOriginUrl(), hasLinkDO.getOriginUrl()) ? hasLinkDO.getFavicon() : linkUtil.getFavicon(linkUpdateReqDTO.getOriginUrl()))
+                        .favicon(favicon)
                         .delTime(0L)
                         .build();
                 baseMapper.insert(linkDO);
                 LambdaQueryWrapper<LinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(LinkGotoDO.class)
                         .eq(LinkGotoDO::getFullShortUrl, linkUpdateReqDTO.getFullShortUrl())
                         .eq(LinkGotoDO::getGid, hasLinkDO.getGid());
-                LinkGotoDO linkGotoDO = linkGotoMapper.selectOne(linkGotoQueryWrapper);
                 linkGotoMapper.delete(linkGotoQueryWrapper);
-                linkGotoDO.setGid(linkUpdateReqDTO.getGid());
-                linkGotoMapper.insert(linkGotoDO);
+                linkGotoMapper.insert(toLinkGoto(linkDO));
 
-                // 失效消费者的 gid 缓存
-                linkStatsSaveConsumer.invalidateGidCache(linkUpdateReqDTO.getFullShortUrl());
+                // 提交后广播失效各节点消费者的 gid 缓存
+                linkCacheSynchronizer.invalidate(linkUpdateReqDTO.getFullShortUrl());
             } finally {
                 rLock.unlock();
             }
         }
+        if (originUrlChanged && favicon == null) {
+            faviconEnricher.enrichAfterCommit(linkUpdateReqDTO.getGid(), linkUpdateReqDTO.getFullShortUrl(), linkUpdateReqDTO.getOriginUrl());
+        }
         if (!Objects.equals(hasLinkDO.getValidDateType(), linkUpdateReqDTO.getValidDateType())
                 || !Objects.equals(hasLinkDO.getValidDate(), linkUpdateReqDTO.getValidDate())
                 || !Objects.equals(hasLinkDO.getOriginUrl(), linkUpdateReqDTO.getOriginUrl())) {
-            // 删除 Redis 缓存
-            stringRedisTemplate.delete(String.format(GOTO_SHORT_LINK_KEY, linkUpdateReqDTO.getFullShortUrl()));
-            // 删除本地 Caffeine 缓存
-            redirectCache.invalidate(linkUpdateReqDTO.getFullShortUrl());
+            // 提交后删除 Redis 跳转缓存，并广播失效各节点本地跳转缓存与空值缓存
+            linkCacheSynchronizer.evict(linkUpdateReqDTO.getFullShortUrl());
             Date currentDate = new Date();
             if (hasLinkDO.getValidDate() != null && hasLinkDO.getValidDate().before(currentDate)) {
                 if (Objects.equals(linkUpdateReqDTO.getValidDateType(), ValidDateTypeEnum.PERMANENT.getType()) || linkUpdateReqDTO.getValidDate().after(currentDate)) {
-                    stringRedisTemplate.delete(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, linkUpdateReqDTO.getFullShortUrl()));
+                    linkCacheSynchronizer.clearNull(linkUpdateReqDTO.getFullShortUrl());
                 }
             }
         }
@@ -431,122 +422,231 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                 .append("/")
                 .append(shortUri)
                 .toString();
-        // 1. 优先查询本地 Caffeine 缓存
-        String originalLink = redirectCache.getIfPresent(fullShortUrl);
-        if (StrUtil.isNotBlank(originalLink)) {
-            linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-            ((HttpServletResponse) response).sendRedirect(originalLink);
-            return;
-        }
-        // 2. 查询 Redis 缓存
-        originalLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
-        if (StrUtil.isNotBlank(originalLink)) {
-            // 回写本地缓存
-            redirectCache.put(fullShortUrl, originalLink);
-            linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-            ((HttpServletResponse) response).sendRedirect(originalLink);
-            return;
-        }
-        boolean contains = ShortCodeUtil.mightExist(shortUri);
-        if (!contains) {
+        // 本地空值缓存命中直接返回，不访问 Redis
+        if (redirectNullCache.getIfPresent(fullShortUrl) != null) {
             ((HttpServletResponse) response).sendRedirect("/page/notfound");
             return;
         }
-        contains = shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl);
-        if (!contains) {
+        // 本地 Caffeine 缓存，未命中时由 RedirectCacheLoader 单飞回源 Redis/DB，旧值刷新期间照常返回
+        // 条目不会越过短链接 validDate 存活，过期链接在此处即视为未命中
+        RedirectTarget redirectTarget = redirectCache.get(fullShortUrl).join();
+        if (redirectTarget == null || StrUtil.isBlank(redirectTarget.originUrl())) {
             ((HttpServletResponse) response).sendRedirect("/page/notfound");
             return;
         }
-        String gotoIsNullShortLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
-        if (StrUtil.isNotBlank(gotoIsNullShortLink)) {
-            ((HttpServletResponse) response).sendRedirect("/page/notfound");
-            return;
-        }
-        // 本地每键互斥：使用 Caffeine 管理 ReentrantLock，避免跳转路径使用分布式锁导致尾延迟放大
-        ReentrantLock lock = redirectLockCache.get(fullShortUrl, k -> new ReentrantLock());
-        lock.lock();
-        try {
-            // 双重检查：先查本地缓存
-            originalLink = redirectCache.getIfPresent(fullShortUrl);
-            if (StrUtil.isNotBlank(originalLink)) {
-                linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-                ((HttpServletResponse) response).sendRedirect(originalLink);
-                return;
-            }
-            // 双重检查：再查 Redis
-            originalLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
-            if (StrUtil.isNotBlank(originalLink)) {
-                // 回写本地缓存
-                redirectCache.put(fullShortUrl, originalLink);
-                linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-                ((HttpServletResponse) response).sendRedirect(originalLink);
-                return;
-            }
-            gotoIsNullShortLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
-            if (StrUtil.isNotBlank(gotoIsNullShortLink)) {
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
-            }
-            LambdaQueryWrapper<LinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(LinkGotoDO.class)
-                    .eq(LinkGotoDO::getFullShortUrl, fullShortUrl);
-            LinkGotoDO linkGotoDO = linkGotoMapper.selectOne(linkGotoQueryWrapper);
-            if (linkGotoDO == null) {
-                stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
-            }
-            LambdaQueryWrapper<LinkDO> queryWrapper = Wrappers.lambdaQuery(LinkDO.class)
-                    .eq(LinkDO::getGid, linkGotoDO.getGid())
-                    .eq(LinkDO::getFullShortUrl, fullShortUrl)
-                    .eq(LinkDO::getDelFlag, 0)
-                    .eq(LinkDO::getEnableStatus, 0);
-            LinkDO linkDO = baseMapper.selectOne(queryWrapper);
-            if (linkDO == null || (linkDO.getValidDate() != null && linkDO.getValidDate().before(new Date()))) {
-                stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
-            }
-            stringRedisTemplate.opsForValue().set(
-                    String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
-                    linkDO.getOriginUrl(),
-                    LinkUtil.getLinkCacheValidTime(linkDO.getValidDate()), TimeUnit.MILLISECONDS
-            );
-            // 同时写入本地缓存
-            redirectCache.put(fullShortUrl, linkDO.getOriginUrl());
-            linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-            ((HttpServletResponse) response).sendRedirect(linkDO.getOriginUrl());
-        } finally {
-            lock.unlock();
-        }
+        linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
+        ((HttpServletResponse) response).sendRedirect(redirectTarget.originUrl());
     }
 
     @Override
     public LinkBatchCreateRespDTO batchCreateLink(LinkBatchCreateReqDTO linkBatchCreateReqDTO) {
         List<String> originUrls = linkBatchCreateReqDTO.getOriginUrls();
         List<String> describes = linkBatchCreateReqDTO.getDescribes();
-        List<LinkBaseInfoRespDTO> result = new ArrayList<>();
+        if (CollUtil.isEmpty(originUrls)) {
+            throw new ClientException("批量创建的原始链接不能为空");
+        }
+        // 分组鉴权与默认值整批只处理一次
+        LinkCreateReqDTO batchReqDTO = BeanUtil.toBean(linkBatchCreateReqDTO, LinkCreateReqDTO.class);
+        resolveCreateGid(batchReqDTO);
+        applyCreateDefaults(batchReqDTO);
+        List<LinkBatchCreateFailRespDTO> failures = new ArrayList<>();
+        List<Integer> requestIndexes = new ArrayList<>(originUrls.size());
+        ParsedUrl[] parsedUrls = new ParsedUrl[originUrls.size()];
         for (int i = 0; i < originUrls.size(); i++) {
-            LinkCreateReqDTO shortLinkCreateReqDTO = BeanUtil.toBean(linkBatchCreateReqDTO, LinkCreateReqDTO.class);
-            shortLinkCreateReqDTO.setOriginUrl(originUrls.get(i));
-            shortLinkCreateReqDTO.setDescribe(describes.get(i));
             try {
-                LinkCreateRespDTO shortLink = createLink(shortLinkCreateReqDTO);
-                LinkBaseInfoRespDTO linkBaseInfoRespDTO = LinkBaseInfoRespDTO.builder()
-                        .fullShortUrl(shortLink.getFullShortUrl())
-                        .originUrl(shortLink.getOriginUrl())
-                        .describe(describes.get(i))
-                        .build();
-                result.add(linkBaseInfoRespDTO);
-            } catch (Throwable ex) {
-                log.error("批量创建短链接失败，原始参数：{}", originUrls.get(i));
+                if (StrUtil.isBlank(originUrls.get(i))) {
+                    throw new ClientException("跳转链接填写错误");
+                }
+                parsedUrls[i] = ParsedUrl.parse(originUrls.get(i));
+                domainPolicy.verify(parsedUrls[i]);
+                requestIndexes.add(i);
+            } catch (ClientException ex) {
+                failures.add(batchFailure(i, originUrls.get(i), ex.getErrorMessage()));
             }
         }
+        // 去重模式：已有存活短链接直接复用，同批次内相同的原始链接只创建一次
+        boolean dedup = originUrlDedupIndex.isEnable();
+        Map<String, LinkDO> existing = dedup && !requestIndexes.isEmpty()
+                ? originUrlDedupIndex.findAll(batchReqDTO.getGid(), requestIndexes.stream().map(i -> parsedUrls[i]).toList())
+                : Map.of();
+        LinkDO[] resolved = new LinkDO[originUrls.size()];
+        Map<String, Integer> creatorByNormalized = new HashMap<>();
+        List<Integer> creatorIndexes = new ArrayList<>(requestIndexes.size());
+        for (int i : requestIndexes) {
+            if (dedup && parsedUrls[i] != null) {
+                String normalized = parsedUrls[i].normalized();
+                if (existing.containsKey(normalized)) {
+                    resolved[i] = existing.get(normalized);
+                    continue;
+                }
+                if (creatorByNormalized.putIfAbsent(normalized, i) != null) {
+                    continue;
+                }
+            }
+            creatorIndexes.add(i);
+        }
+        // 一次预留整批短码，favicon 只取白名单映射或本地缓存，其余提交后异步补全
+        ShortCodeAllocator shortCodeAllocator = ShortCodeUtil.allocatorFor(batchReqDTO.getGid());
+        List<String> shortCodes = creatorIndexes.isEmpty() ? List.of() : shortCodeAllocator.nextBatch(creatorIndexes.size());
+        List<LinkDO> linkDOList = new ArrayList<>(creatorIndexes.size());
+        for (int k = 0; k < creatorIndexes.size(); k++) {
+            int i = creatorIndexes.get(k);
+            String originUrl = originUrls.get(i);
+            linkDOList.add(LinkDO.builder()
+                    .domain(shortCodeAllocator.domain())
+                    .originUrl(originUrl)
+                    .originUrlHash(OriginUrlDedupIndex.hash(parsedUrls[i]))
+                    .gid(batchReqDTO.getGid())
+                    .createdType(batchReqDTO.getCreatedType())
+                    .validDateType(batchReqDTO.getValidDateType())
+                    .validDate(batchReqDTO.getValidDate())
+                    .describe(describeAt(describes, i))
+                    .shortUri(shortCodes.get(k))
+                    .enableStatus(0)
+                    .totalPv(0)
+                    .totalUv(0)
+                    .totalUip(0)
+                    .delTime(0L)
+                    .fullShortUrl(shortCodeAllocator.domain() + "/" + shortCodes.get(k))
+                    .favicon(faviconEnricher.peek(parsedUrls[i]))
+                    .build());
+        }
+        for (int k = 0; k < creatorIndexes.size(); k++) {
+            resolved[creatorIndexes.get(k)] = linkDOList.get(k);
+        }
+        List<LinkDO> persisted = insertLinkBatch(linkDOList, creatorIndexes, failures);
+        // 事务已提交，缓存预热、空值 Key 删除、布隆过滤器新增与本地缓存失效广播作为一个管道批次发出
+        linkCacheSynchronizer.warmUpAll(persisted);
+        persisted.stream()
+                .filter(each -> each.getFavicon() == null)
+                .forEach(each -> faviconEnricher.enrichAfterCommit(each.getGid(), each.getFullShortUrl(), each.getOriginUrl()));
+        Set<Integer> creators = new HashSet<>(creatorIndexes);
+        Set<LinkDO> available = Collections.newSetFromMap(new IdentityHashMap<>());
+        available.addAll(persisted);
+        available.addAll(existing.values());
+        List<LinkBaseInfoRespDTO> result = new ArrayList<>(requestIndexes.size());
+        for (int i : requestIndexes) {
+            LinkDO each = resolved[i];
+            if (available.contains(each)) {
+                result.add(LinkBaseInfoRespDTO.builder()
+                        .fullShortUrl("http://" + each.getFullShortUrl())
+                        .originUrl(each.getOriginUrl())
+                        .describe(each.getDescribe())
+                        .build());
+            } else if (!creators.contains(i)) {
+                // 复用同批次条目，但该条目创建失败
+                failures.add(batchFailure(i, originUrls.get(i), "短链接创建失败"));
+            }
+        }
+        failures.sort(Comparator.comparing(LinkBatchCreateFailRespDTO::getIndex));
         return LinkBatchCreateRespDTO.builder()
                 .total(result.size())
                 .baseLinkInfos(result)
+                .failures(failures)
+                .build();
+    }
+
+    /**
+     * 按真实表分组后多值插入，整批在同一事务内提交；出现重复键、超长字段、死锁等数据库异常时回滚并降级为逐条插入，单条失败记入 failures
+     * @return 插入成功的短链接，按请求顺序排列
+     */
+    private List<LinkDO> insertLinkBatch(List<LinkDO> linkDOList, List<Integer> requestIndexes,
+                                                 List<LinkBatchCreateFailRespDTO> failures) {
+        if (linkDOList.isEmpty()) {
+            return List.of();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                HashModShardingUtil.groupByShard(linkDOList, each -> LinkTableShardingAlgorithm.tableIndexOf(each.getGid(), each.getFullShortUrl())).values()
+                        .forEach(rows -> ListUtil.partition(rows, BATCH_INSERT_CHUNK_SIZE).forEach(baseMapper::insertBatch));
+                List<LinkGotoDO> linkGotoDOList = linkDOList.stream().map(this::toLinkGoto).toList();
+                HashModShardingUtil.groupByShard(linkGotoDOList, LinkGotoDO::getFullShortUrl, LINK_GOTO_TABLE_SHARDING_COUNT).values()
+                        .forEach(rows -> ListUtil.partition(rows, BATCH_INSERT_CHUNK_SIZE).forEach(linkGotoMapper::insertBatch));
+            });
+            return linkDOList;
+        } catch (DuplicateKeyException ex) {
+            log.warn("批量创建短链接出现重复键，降级为逐条插入，size={}", linkDOList.size());
+        } catch (DataAccessException ex) {
+            log.warn("批量创建短链接失败，降级为逐条插入，size={}", linkDOList.size(), ex);
+        }
+        List<LinkDO> persisted = new ArrayList<>(linkDOList.size());
+        for (int k = 0; k < linkDOList.size(); k++) {
+            LinkDO each = linkDOList.get(k);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    baseMapper.insert(each);
+                    linkGotoMapper.insert(toLinkGoto(each));
+                });
+                persisted.add(each);
+            } catch (DuplicateKeyException ex) {
+                failures.add(batchFailure(requestIndexes.get(k), each.getOriginUrl(), String.format("短链接：%s 生成重复", each.getFullShortUrl())));
+            } catch (Throwable ex) {
+                log.error("批量创建短链接失败，原始参数：{}", each.getOriginUrl(), ex);
+                failures.add(batchFailure(requestIndexes.get(k), each.getOriginUrl(), "短链接创建失败"));
+            }
+        }
+        return persisted;
+    }
+
+    private LinkGotoDO toLinkGoto(LinkDO linkDO) {
+        return LinkGotoDO.builder()
+                .fullShortUrl(linkDO.getFullShortUrl())
+                .gid(linkDO.getGid())
+                .originUrl(linkDO.getOriginUrl())
+                .validDate(linkDO.getValidDate())
+                .enableStatus(linkDO.getEnableStatus())
+                .delFlag(0)
+                .build();
+    }
+
+    private static String describeAt(List<String> describes, int index) {
+        return describes != null && index < describes.size() ? describes.get(index) : null;
+    }
+
+    private static LinkBatchCreateFailRespDTO batchFailure(int index, String originUrl, String reason) {
+        return LinkBatchCreateFailRespDTO.builder()
+                .index(index)
+                .originUrl(originUrl)
+                .reason(reason)
                 .build();
     }
 
+    /**
+     * 未登录（public）创建强制使用公共分组，否则校验分组归属
+     */
+    private void resolveCreateGid(LinkCreateReqDTO linkCreateReqDTO) {
+        if (Objects.equals(UserContext.getUsername(), PUBLIC_USERNAME)) {
+            linkCreateReqDTO.setGid(PUBLIC_GID);
+        } else {
+            groupOwnershipService.assertOwnedByCurrentUser(linkCreateReqDTO.getGid());
+        }
+    }
+
+    /**
+     * 设置创建默认值：有效期默认 1 天、最长 3 天，且不允许永久有效
+     */
+    private void applyCreateDefaults(LinkCreateReqDTO linkCreateReqDTO) {
+        if (linkCreateReqDTO.getCreatedType() == null) {
+            linkCreateReqDTO.setCreatedType(0);
+        }
+        if (linkCreateReqDTO.getValidDateType() == null) {
+            linkCreateReqDTO.setValidDateType(ValidDateTypeEnum.CUSTOM.getType());
+        }
+        Date now = new Date();
+        Date maxValidDate = DateUtil.offsetDay(now, 3);
+        if (linkCreateReqDTO.getValidDate() == null) {
+            // 如果没有传入validDate，默认设置为1天后
+            linkCreateReqDTO.setValidDate(DateUtil.offsetDay(now, 1));
+        } else if (linkCreateReqDTO.getValidDate().after(maxValidDate)) {
+            // 如果传入的validDate超过3天，修正为3天
+            linkCreateReqDTO.setValidDate(maxValidDate);
+        }
+        // 确保不是永久有效
+        if (linkCreateReqDTO.getValidDateType() == ValidDateTypeEnum.PERMANENT.getType()) {
+            linkCreateReqDTO.setValidDateType(ValidDateTypeEnum.CUSTOM.getType());
+        }
+    }
+
     private LinkStatsRecordDTO buildLinkStatsRecordAndSetUser(String fullShortUrl, ServletRequest request, ServletResponse response) {
         Cookie[] cookies = ((HttpServletRequest) request).getCookies();
         AtomicReference<String> uv = new AtomicReference<>();
@@ -584,23 +684,6 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
 
     @Override
     public void linkStats(LinkStatsRecordDTO linkStatsRecordDTO) {
-        Map<String, String> producerMap = new HashMap<>();
-        producerMap.put("statsRecord", JSON.toJSONString(linkStatsRecordDTO));
-        linkStatsSaveProducer.send(producerMap);
-    }
-
-    private void verificationWhitelist(String originUrl) {
-        Boolean enable = gotoDomainWhiteListConfiguration.getEnable();
-        if (enable == null || !enable) {
-            return;
-        }
-        String domain = LinkUtil.extractDomain(originUrl);
-        if (StrUtil.isBlank(domain)) {
-            throw new ClientException("跳转链接填写错误");
-        }
-        List<String> details = gotoDomainWhiteListConfiguration.getDetails();
-        if (!details.contains(domain)) {
-            throw new ClientException("演示环境为避免恶意攻击，请生成以下网站跳转链接：" + gotoDomainWhiteListConfiguration.getNames());
-        }
+        linkStatsSaveProducer.send(linkStatsRecordDTO);
     }
 }
@@ -6,8 +6,10 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import dev.chanler.shortlink.common.biz.link.LinkCacheSynchronizer;
 import dev.chanler.shortlink.common.biz.user.GroupOwnershipVerifier;
 import dev.chanler.shortlink.dao.entity.LinkDO;
+import dev.chanler.shortlink.dao.mapper.LinkGotoMapper;
 import dev.chanler.shortlink.dao.mapper.LinkMapper;
 import dev.chanler.shortlink.dto.req.RecycleBinLinkPageReqDTO;
 import dev.chanler.shortlink.dto.req.RecycleBinRemoveReqDTO;
@@ -16,11 +18,8 @@ import dev.chanler.shortlink.dto.req.RecycleBinSaveReqDTO;
 import dev.chanler.shortlink.dto.resp.LinkPageRespDTO;
 import dev.chanler.shortlink.service.RecycleBinService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
-
-import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
-import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * 回收站管理接口实现层
@@ -30,9 +29,11 @@ import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_
 @RequiredArgsConstructor
 public class RecycleBinServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements RecycleBinService {
 
-    private final StringRedisTemplate stringRedisTemplate;
     private final GroupOwnershipVerifier groupOwnershipService;
+    private final LinkCacheSynchronizer linkCacheSynchronizer;
+    private final LinkGotoMapper linkGotoMapper;
 
+    @Transactional(rollbackFor = Exception.class)
     @Override
     public void saveRecycledBin(RecycleBinSaveReqDTO recycleBinSaveReqDTO) {
         groupOwnershipService.assertOwnedByCurrentUser(recycleBinSaveReqDTO.getGid());
@@ -44,10 +45,10 @@ public class RecycleBinServiceImpl extends ServiceImpl<LinkMapper, LinkDO> imple
         LinkDO linkDO = LinkDO.builder()
                 .enableStatus(1)
                 .build();
-        baseMapper.update(linkDO, updateWrapper);
-        stringRedisTemplate.delete(
-                String.format(GOTO_SHORT_LINK_KEY, recycleBinSaveReqDTO.getFullShortUrl())
-        );
+        if (baseMapper.update(linkDO, updateWrapper) > 0) {
+            linkGotoMapper.updateStatus(recycleBinSaveReqDTO.getFullShortUrl(), 1, 0);
+        }
+        linkCacheSynchronizer.evict(recycleBinSaveReqDTO.getFullShortUrl());
     }
 
     @Override
@@ -66,6 +67,7 @@ public class RecycleBinServiceImpl extends ServiceImpl<LinkMapper, LinkDO> imple
         });
     }
 
+    @Transactional(rollbackFor = Exception.class)
     @Override
     public void restoreLink(RecycleBinRestoreReqDTO recycleBinRestoreReqDTO) {
         groupOwnershipService.assertOwnedByCurrentUser(recycleBinRestoreReqDTO.getGid());
@@ -77,12 +79,13 @@ public class RecycleBinServiceImpl extends ServiceImpl<LinkMapper, LinkDO> imple
         LinkDO linkDO = LinkDO.builder()
                 .enableStatus(0)
                 .build();
-        baseMapper.update(linkDO, updateWrapper);
-        stringRedisTemplate.delete(
-                String.format(GOTO_IS_NULL_SHORT_LINK_KEY, recycleBinRestoreReqDTO.getFullShortUrl())
-        );
+        if (baseMapper.update(linkDO, updateWrapper) > 0) {
+            linkGotoMapper.updateStatus(recycleBinRestoreReqDTO.getFullShortUrl(), 0, 0);
+        }
+        linkCacheSynchronizer.clearNull(recycleBinRestoreReqDTO.getFullShortUrl());
     }
 
+    @Transactional(rollbackFor = Exception.class)
     @Override
     public void removeLink(RecycleBinRemoveReqDTO recycleBinRemoveReqDTO) {
         groupOwnershipService.assertOwnedByCurrentUser(recycleBinRemoveReqDTO.getGid());
@@ -95,6 +98,9 @@ public class RecycleBinServiceImpl extends ServiceImpl<LinkMapper, LinkDO> imple
                 .delTime(System.currentTimeMillis())
                 .build();
         delLinkDO.setDelFlag(1);
-        baseMapper.update(delLinkDO, updateWrapper);
+        if (baseMapper.update(delLinkDO, updateWrapper) > 0) {
+            linkGotoMapper.updateStatus(recycleBinRemoveReqDTO.getFullShortUrl(), 1, 1);
+        }
+        linkCacheSynchronizer.invalidate(recycleBinRemoveReqDTO.getFullShortUrl());
     }
 }
@@ -1,50 +1,279 @@
 package dev.chanler.shortlink.service.impl;
 
+import cn.hutool.core.util.EscapeUtil;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.chanler.shortlink.common.config.UrlTitleProperties;
+import dev.chanler.shortlink.common.convention.exception.ClientException;
 import dev.chanler.shortlink.service.UrlTitleService;
+import dev.chanler.shortlink.toolkit.HeadBodySubscriber;
+import dev.chanler.shortlink.toolkit.NegativeAwareExpiry;
+import dev.chanler.shortlink.toolkit.ParsedUrl;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.URL_TITLE_CACHE_KEY;
+
 /**
- * 简化版 URL 标题获取
+ * URL 标题获取
+ * 创建页输入链接时频繁调用，不在 Tomcat 线程上同步抓取第三方页面：
+ * 1. 标题按规范化 URL 缓存在本地 Caffeine 与 Redis，同一 URL 的并发请求只抓取一次
+ * 2. 共享 HttpClient 异步抓取，只读取页面开头 maxHtmlBytes 字节，读满即取消
+ * 3. 编码依次取自 Content-Type、BOM 与 meta charset，默认 UTF-8
+ * 4. 全局信号量限制同时抓取数量，拿不到许可时返回空标题且不缓存
+ * @author: Chanler
  */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class UrlTitleServiceImpl implements UrlTitleService {
 
     private static final Pattern TITLE = Pattern.compile("(?is)<title[^>]*>(.*?)</title>");
-    private static final int MAX_BYTES = 8 * 1024;
+    private static final Pattern CONTENT_TYPE_CHARSET = Pattern.compile("(?i)charset\\s*=\\s*[\"']?([\\w.:-]+)");
+    private static final Pattern META_CHARSET = Pattern.compile("(?i)<meta[^>]+charset\\s*=\\s*[\"']?([\\w.:-]+)");
+    private static final int MAX_TITLE_LENGTH = 128;
+    private static final String USER_AGENT = "Mozilla/5.0";
+    // 页面没有可用标题
+    private static final String NO_TITLE = "";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UrlTitleProperties urlTitleProperties;
+
+    // 本地缓存：normalizedUrl -> title
+    private AsyncCache<String, String> titleCache;
+
+    private Semaphore fetchPermits;
+
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        titleCache = Caffeine.newBuilder()
+                .maximumSize(urlTitleProperties.getLocalCacheSize())
+                .expireAfter(new NegativeAwareExpiry(
+                        Duration.ofMinutes(urlTitleProperties.getLocalCacheTtlMinutes()),
+                        Duration.ofMinutes(urlTitleProperties.getNegativeCacheTtlMinutes())))
+                .buildAsync();
+        fetchPermits = new Semaphore(urlTitleProperties.getMaxConcurrency());
+        // 共享客户端复用连接
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(urlTitleProperties.getConnectTimeoutMillis()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
 
     @Override
     public String getTitleByUrl(String url) {
-        if (url == null || url.isBlank()) {
-            return "";
+        ParsedUrl parsedUrl = ParsedUrl.parse(url);
+        if (parsedUrl == null) {
+            return NO_TITLE;
         }
+        return await(resolve(parsedUrl));
+    }
+
+    @Override
+    public Map<String, String> getTitlesByUrls(List<String> urls) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (urls == null || urls.isEmpty()) {
+            return result;
+        }
+        if (urls.size() > urlTitleProperties.getMaxBatchSize()) {
+            throw new ClientException(String.format("批量获取标题数量不能超过 %d 个", urlTitleProperties.getMaxBatchSize()));
+        }
+        Map<String, ParsedUrl> parsedUrls = new LinkedHashMap<>();
+        for (String each : urls) {
+            ParsedUrl parsedUrl = ParsedUrl.parse(each);
+            if (parsedUrl != null) {
+                parsedUrls.putIfAbsent(each, parsedUrl);
+            }
+        }
+        preloadFromRedis(parsedUrls.values());
+        Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+        parsedUrls.forEach((url, parsedUrl) -> futures.put(url, resolve(parsedUrl)));
         try {
-            HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
-            conn.setConnectTimeout(4000);
-            conn.setReadTimeout(4000);
-            conn.setRequestProperty("User-Agent", "Mozilla/5.0");
-            try (BufferedReader br = new BufferedReader(
-                    new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
-                StringBuilder sb = new StringBuilder();
-                int ch;
-                while ((ch = br.read()) != -1 && sb.length() < MAX_BYTES) {
-                    sb.append((char) ch);
-                }
-                Matcher m = TITLE.matcher(sb);
-                if (m.find()) {
-                    String t = m.group(1).replaceAll("\\s+", " ").trim();
-                    return t.length() > 128 ? t.substring(0, 128) : t;
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture<?>[]::new))
+                    .get(urlTitleProperties.getRequestTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ignore) {}
+        for (String each : urls) {
+            CompletableFuture<String> future = futures.get(each);
+            result.put(each, future == null ? NO_TITLE : orEmpty(future.getNow(NO_TITLE)));
+        }
+        return result;
+    }
+
+    /**
+     * 按 URL 解析标题：本地缓存 → Redis → 抓取，同一 URL 的并发解析由 Caffeine 合并为一次
+     */
+    private CompletableFuture<String> resolve(ParsedUrl parsedUrl) {
+        return titleCache.get(parsedUrl.normalized(), (key, executor) -> load(parsedUrl));
+    }
+
+    /**
+     * 批量请求先一次 MGET 本地未命中的 URL，命中的直接放入本地缓存
+     */
+    private void preloadFromRedis(Iterable<ParsedUrl> parsedUrls) {
+        List<String> misses = new ArrayList<>();
+        for (ParsedUrl each : parsedUrls) {
+            if (titleCache.getIfPresent(each.normalized()) == null) {
+                misses.add(each.normalized());
+            }
+        }
+        if (misses.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> cached = stringRedisTemplate.opsForValue()
+                    .multiGet(misses.stream().map(each -> String.format(URL_TITLE_CACHE_KEY, each)).toList());
+            for (int i = 0; cached != null && i < misses.size(); i++) {
+                if (cached.get(i) != null) {
+                    titleCache.put(misses.get(i), CompletableFuture.completedFuture(cached.get(i)));
                 }
             }
-        } catch (Exception ignored) {
+        } catch (Throwable t) {
+            log.warn("Read title cache error, size={}", misses.size(), t);
+        }
+    }
+
+    private CompletableFuture<String> load(ParsedUrl parsedUrl) {
+        String redisKey = String.format(URL_TITLE_CACHE_KEY, parsedUrl.normalized());
+        try {
+            String cached = stringRedisTemplate.opsForValue().get(redisKey);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        } catch (Throwable t) {
+            log.warn("Read title cache error, url={}", parsedUrl.normalized(), t);
+        }
+        if (!fetchPermits.tryAcquire()) {
+            // 结果为 null 时 Caffeine 不保留该条目，下次请求重新抓取
+            return CompletableFuture.completedFuture(null);
         }
-        return "";
+        return fetch(parsedUrl)
+                .whenComplete((title, ex) -> fetchPermits.release())
+                .thenApply(title -> {
+                    store(redisKey, title);
+                    return title;
+                });
+    }
+
+    private void store(String redisKey, String title) {
+        try {
+            if (title.isEmpty()) {
+                stringRedisTemplate.opsForValue().set(redisKey, title, urlTitleProperties.getNegativeCacheTtlMinutes(), TimeUnit.MINUTES);
+            } else {
+                stringRedisTemplate.opsForValue().set(redisKey, title, urlTitleProperties.getCacheTtlHours(), TimeUnit.HOURS);
+            }
+        } catch (Throwable t) {
+            log.warn("Write title cache error, key={}", redisKey, t);
+        }
+    }
+
+    /**
+     * 异步抓取页面开头并提取标题，非 2xx、超时与网络异常均视为无标题
+     */
+    private CompletableFuture<String> fetch(ParsedUrl parsedUrl) {
+        int maxHtmlBytes = urlTitleProperties.getMaxHtmlBytes();
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(parsedUrl.url()))
+                    .timeout(Duration.ofMillis(urlTitleProperties.getRequestTimeoutMillis()))
+                    .header("User-Agent", USER_AGENT)
+                    .GET()
+                    .build();
+            response = httpClient.sendAsync(request, responseInfo -> new HeadBodySubscriber(maxHtmlBytes));
+        } catch (IllegalArgumentException ex) {
+            // 非 http(s) 或无法构造请求的地址
+            return CompletableFuture.completedFuture(NO_TITLE);
+        }
+        return response
+                .orTimeout(urlTitleProperties.getRequestTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(each -> {
+                    if (each.statusCode() < 200 || each.statusCode() >= 300) {
+                        return NO_TITLE;
+                    }
+                    byte[] head = each.body();
+                    Charset charset = sniffCharset(each.headers().firstValue("Content-Type").orElse(null), head);
+                    return extractTitle(new String(head, charset));
+                })
+                .exceptionally(ex -> NO_TITLE);
+    }
+
+    /**
+     * 编码探测：Content-Type charset → BOM → meta charset → UTF-8
+     */
+    private static Charset sniffCharset(String contentType, byte[] head) {
+        if (contentType != null) {
+            Charset charset = charsetOf(CONTENT_TYPE_CHARSET.matcher(contentType));
+            if (charset != null) {
+                return charset;
+            }
+        }
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        if (head.length >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (head.length >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) {
+            return StandardCharsets.UTF_16LE;
+        }
+        // meta 标签只含 ASCII，按单字节解码即可匹配
+        Charset charset = charsetOf(META_CHARSET.matcher(new String(head, StandardCharsets.ISO_8859_1)));
+        return charset != null ? charset : StandardCharsets.UTF_8;
+    }
+
+    private static Charset charsetOf(Matcher matcher) {
+        if (!matcher.find()) {
+            return null;
+        }
+        try {
+            return Charset.forName(matcher.group(1));
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private static String extractTitle(String html) {
+        Matcher matcher = TITLE.matcher(html);
+        if (!matcher.find()) {
+            return NO_TITLE;
+        }
+        String title = EscapeUtil.unescapeHtml4(matcher.group(1)).replaceAll("\\s+", " ").trim();
+        return title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title;
+    }
+
+    private String await(CompletableFuture<String> future) {
+        try {
+            return orEmpty(future.get(urlTitleProperties.getRequestTimeoutMillis(), TimeUnit.MILLISECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ignore) {}
+        return NO_TITLE;
+    }
+
+    private static String orEmpty(String title) {
+        return title == null ? NO_TITLE : title;
     }
-}
\ No newline at end of file
+}
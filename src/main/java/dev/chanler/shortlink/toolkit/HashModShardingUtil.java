@@ -0,0 +1,54 @@
+package dev.chanler.shortlink.toolkit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * HASH_MOD 分片工具类
+ * 与 ShardingSphere HASH_MOD 算法一致，用于批量写入前按真实表分组，使每条多值 INSERT 只落到一张物理表
+ * 分片数量须与 shardingsphere-config.yaml 保持一致，不一致时仅退化为由 ShardingSphere 拆分路由，不影响正确性
+ * @author: Chanler
+ */
+public final class HashModShardingUtil {
+
+    /**
+     * t_link 分片数量（按 gid，热点分组再按 full_short_url 打散，见 LinkTableShardingAlgorithm）
+     */
+    public static final int LINK_TABLE_SHARDING_COUNT = 16;
+
+    /**
+     * t_link_goto 分片数量（按 full_short_url）
+     */
+    public static final int LINK_GOTO_TABLE_SHARDING_COUNT = 16;
+
+    private HashModShardingUtil() {}
+
+    /**
+     * 计算分片下标
+     */
+    public static int shardOf(Object shardingValue, int shardingCount) {
+        return (int) (Math.abs((long) shardingValue.hashCode()) % shardingCount);
+    }
+
+    /**
+     * 按分片下标分组，组内保持原有顺序
+     */
+    public static <T> Map<Integer, List<T>> groupByShard(List<T> rows, Function<T, Object> shardingValue, int shardingCount) {
+        return groupByShard(rows, row -> shardOf(shardingValue.apply(row), shardingCount));
+    }
+
+    /**
+     * 按给定的真实表下标分组，用于自定义分片算法，组内保持原有顺序
+     */
+    public static <T> Map<Integer, List<T>> groupByShard(List<T> rows, ToIntFunction<T> shardIndex) {
+        Map<Integer, List<T>> grouped = new LinkedHashMap<>();
+        for (T row : rows) {
+            grouped.computeIfAbsent(shardIndex.applyAsInt(row), k -> new ArrayList<>()).add(row);
+        }
+        return grouped;
+    }
+}
@@ -0,0 +1,66 @@
+package dev.chanler.shortlink.toolkit;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * 只收集响应体前 limit 字节，读满后取消订阅，连接不再继续下载页面剩余部分
+ * @author: Chanler
+ */
+public final class HeadBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+    private final int limit;
+    private final ByteArrayOutputStream buffer;
+    private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+
+    public HeadBodySubscriber(int limit) {
+        this.limit = limit;
+        this.buffer = new ByteArrayOutputStream(Math.min(limit, 8 * 1024));
+    }
+
+    @Override
+    public CompletionStage<byte[]> getBody() {
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+        for (ByteBuffer each : items) {
+            int n = Math.min(each.remaining(), limit - buffer.size());
+            if (n <= 0) {
+                break;
+            }
+            byte[] chunk = new byte[n];
+            each.get(chunk);
+            buffer.write(chunk, 0, n);
+        }
+        if (buffer.size() >= limit) {
+            subscription.cancel();
+            body.complete(buffer.toByteArray());
+        } else {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        body.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        body.complete(buffer.toByteArray());
+    }
+}
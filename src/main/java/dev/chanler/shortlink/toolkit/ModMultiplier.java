@@ -0,0 +1,64 @@
+package dev.chanler.shortlink.toolkit;
+
+/**
+ * 固定乘数的模乘器：计算 multiplier * x mod n，全程 long 运算、无对象分配
+ * 将 x 按 shift 位切块，预计算 multiplier * 2^(k*shift) mod n，
+ * 每块乘积 < 2^(bitLength(n) + shift) <= 2^63 不会溢出，累加后逐块取模
+ * 要求 n < 2^62：62^7 时按 21 位切 2 块，62^10 时按 3 位切 20 块
+ * @author: Chanler
+ */
+final class ModMultiplier {
+
+    private final long modulus;
+    private final int shift;
+    private final long mask;
+    private final long[] factors;
+
+    ModMultiplier(long multiplier, long modulus) {
+        if (modulus <= 1 || modulus >= (1L << 62)) {
+            throw new IllegalArgumentException("modulus must be in (1, 2^62)");
+        }
+        int bits = 64 - Long.numberOfLeadingZeros(modulus - 1);
+        this.modulus = modulus;
+        this.shift = 63 - bits;
+        this.mask = (1L << shift) - 1;
+        this.factors = new long[(bits + shift - 1) / shift];
+        long factor = Math.floorMod(multiplier, modulus);
+        for (int k = 0; k < factors.length; k++) {
+            factors[k] = factor;
+            factor = (factor << shift) % modulus;
+        }
+    }
+
+    /**
+     * @param x 0 <= x < modulus
+     * @return multiplier * x mod modulus
+     */
+    long multiply(long x) {
+        long r = 0;
+        for (int k = 0; k < factors.length && x != 0; k++, x >>>= shift) {
+            r += factors[k] * (x & mask) % modulus;
+            if (r >= modulus) {
+                r -= modulus;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * a 在模 n 下的乘法逆元（扩展欧几里得，要求 gcd(a, n) = 1）
+     */
+    static long modInverse(long a, long n) {
+        long oldR = Math.floorMod(a, n), r = n;
+        long oldS = 1, s = 0;
+        while (r != 0) {
+            long q = oldR / r;
+            long t = oldR - q * r; oldR = r; r = t;
+            t = oldS - q * s; oldS = s; s = t;
+        }
+        if (oldR != 1) {
+            throw new IllegalArgumentException("multiplier is not invertible modulo " + n);
+        }
+        return Math.floorMod(oldS, n);
+    }
+}
@@ -0,0 +1,84 @@
+package dev.chanler.shortlink.toolkit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 多生产者单消费者有界环形缓冲区（无锁）
+ * 1. 生产者 CAS 抢占写入序号后写入槽位，缓冲区满时 offer 直接返回 false，由调用方决定丢弃或等待
+ * 2. 仅允许一个消费者线程调用 drainTo，槽位为空表示生产者已抢占序号但尚未写入，本轮停止读取
+ * 容量向上取整为 2 的幂，以位运算定位槽位
+ * @author: Chanler
+ */
+public final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private volatile long consumerIndex;
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be >= 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 写入元素
+     * @return 缓冲区已满时返回 false
+     */
+    public boolean offer(E element) {
+        long capacity = mask + 1L;
+        while (true) {
+            long index = producerIndex.get();
+            if (index - consumerIndex >= capacity) {
+                return false;
+            }
+            if (producerIndex.compareAndSet(index, index + 1)) {
+                slots.lazySet((int) (index & mask), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 取出至多 limit 个元素追加到 target，仅限消费者线程调用
+     * @return 取出的元素数量
+     */
+    public int drainTo(List<E> target, int limit) {
+        long index = consumerIndex;
+        int drained = 0;
+        while (drained < limit) {
+            int offset = (int) (index & mask);
+            E element = slots.get(offset);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(offset, null);
+            target.add(element);
+            index++;
+            drained++;
+            consumerIndex = index;
+        }
+        return drained;
+    }
+
+    /**
+     * 当前元素数量的近似值
+     */
+    public int size() {
+        return (int) Math.max(0L, producerIndex.get() - consumerIndex);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,36 @@
+package dev.chanler.shortlink.toolkit;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+/**
+ * 区分正负缓存的本地缓存过期策略
+ * 空串表示负缓存（页面无标题、站点无图标），使用较短的过期时间；过期时间只在写入时计算，读取不续期
+ * @author: Chanler
+ */
+public final class NegativeAwareExpiry implements Expiry<String, String> {
+
+    private final long positiveTtlNanos;
+    private final long negativeTtlNanos;
+
+    public NegativeAwareExpiry(Duration positiveTtl, Duration negativeTtl) {
+        this.positiveTtlNanos = positiveTtl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(String key, String value, long currentTime) {
+        return value.isEmpty() ? negativeTtlNanos : positiveTtlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, String value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, String value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
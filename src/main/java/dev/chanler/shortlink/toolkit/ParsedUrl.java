@@ -0,0 +1,180 @@
+package dev.chanler.shortlink.toolkit;
+
+import cn.hutool.core.util.StrUtil;
+import com.google.common.net.InternetDomainName;
+
+import java.net.IDN;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 解析后的原始链接
+ * 同一链接只解析一次，白名单校验、favicon 查找与去重索引共用解析结果：
+ * 1. 缺少 scheme 时补 http://，scheme 与 host 小写，host 去掉末尾的点并转为 ASCII（IDN）
+ * 2. 与 scheme 默认端口相同的端口视为未指定
+ * 3. 注册域名（eTLD+1）按需计算，热点 host 的结果由 DomainPolicy 缓存
+ * @author: Chanler
+ */
+public final class ParsedUrl {
+
+    private static final Pattern IPV4_PATTERN = Pattern.compile("^\\d+\\.\\d+\\.\\d+\\.\\d+$");
+
+    private final String url;
+    private final String scheme;
+    private final String userInfo;
+    private final String host;
+    private final int port;
+    private final String path;
+    private final String query;
+
+    private ParsedUrl(String url, String scheme, String userInfo, String host, int port, String path, String query) {
+        this.url = url;
+        this.scheme = scheme;
+        this.userInfo = userInfo;
+        this.host = host;
+        this.port = port;
+        this.path = path;
+        this.query = query;
+    }
+
+    /**
+     * 解析原始链接
+     * @return 空白、无法解析或没有 host 时返回 null
+     */
+    public static ParsedUrl parse(String originUrl) {
+        if (StrUtil.isBlank(originUrl)) {
+            return null;
+        }
+        String u = withScheme(originUrl.trim());
+        URL parsed;
+        try {
+            parsed = new URL(u);
+        } catch (MalformedURLException ex) {
+            return null;
+        }
+        String host = parsed.getHost();
+        if (StrUtil.isBlank(host)) {
+            return null;
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        if (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+        try {
+            host = IDN.toASCII(host);
+        } catch (Exception ignore) {}
+        int port = parsed.getPort() == parsed.getDefaultPort() ? -1 : parsed.getPort();
+        return new ParsedUrl(u, parsed.getProtocol().toLowerCase(Locale.ROOT), parsed.getUserInfo(), host, port,
+                parsed.getPath(), parsed.getQuery());
+    }
+
+    /**
+     * 补全 scheme，等价于匹配 ^[a-zA-Z][a-zA-Z0-9+.-]*://，不使用正则
+     */
+    public static String withScheme(String url) {
+        int i = 0;
+        int length = url.length();
+        if (length == 0 || !isAsciiLetter(url.charAt(0))) {
+            return "http://" + url;
+        }
+        while (++i < length) {
+            char c = url.charAt(i);
+            if (c == ':') {
+                return url.startsWith("//", i + 1) ? url : "http://" + url;
+            }
+            if (!isAsciiLetter(c) && !(c >= '0' && c <= '9') && c != '+' && c != '.' && c != '-') {
+                break;
+            }
+        }
+        return "http://" + url;
+    }
+
+    /**
+     * 计算 host 的注册域名（eTLD+1），IP、localhost 与无法识别公共后缀的 host 返回 null
+     */
+    public static String registrableDomainOf(String host) {
+        if (host == null || isIpOrLocalhost(host)) {
+            return null;
+        }
+        try {
+            InternetDomainName idn = InternetDomainName.from(host);
+            if (idn.isUnderPublicSuffix() || idn.isTopPrivateDomain()) {
+                return idn.topPrivateDomain().toString();
+            }
+        } catch (IllegalArgumentException ignore) {}
+        return null;
+    }
+
+    private static boolean isIpOrLocalhost(String host) {
+        return "localhost".equals(host) || host.indexOf(':') >= 0 || IPV4_PATTERN.matcher(host).matches();
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * 补全 scheme 后的链接，用于发起请求
+     */
+    public String url() {
+        return url;
+    }
+
+    public String scheme() {
+        return scheme;
+    }
+
+    /**
+     * 规范化后的 host
+     */
+    public String host() {
+        return host;
+    }
+
+    /**
+     * 站点标识 host[:port]
+     */
+    public String siteKey() {
+        return port == -1 ? host : host + ":" + port;
+    }
+
+    /**
+     * 站点根地址 scheme://host[:port]
+     */
+    public String baseUrl() {
+        return scheme + "://" + siteKey();
+    }
+
+    /**
+     * 规范化链接：去掉默认端口与片段，空路径视为 /
+     */
+    public String normalized() {
+        StringBuilder sb = new StringBuilder(url.length())
+                .append(scheme).append("://");
+        if (userInfo != null) {
+            sb.append(userInfo).append('@');
+        }
+        sb.append(siteKey());
+        sb.append(StrUtil.isEmpty(path) ? "/" : path);
+        if (query != null) {
+            sb.append('?').append(query);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 将页面中的相对地址转为绝对地址
+     */
+    public String resolve(String href) {
+        if (href.startsWith("http://") || href.startsWith("https://")) {
+            return href;
+        } else if (href.startsWith("//")) {
+            return scheme + ":" + href;
+        } else if (href.startsWith("/")) {
+            return baseUrl() + href;
+        }
+        return baseUrl() + "/" + href;
+    }
+}
@@ -0,0 +1,375 @@
+package dev.chanler.shortlink.toolkit;
+
+import cn.hutool.core.util.StrUtil;
+import dev.chanler.shortlink.toolkit.segment.SegmentRange;
+import dev.chanler.shortlink.toolkit.segment.SegmentSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 命名空间短码分配器
+ * 每个命名空间（域名或租户）独立持有仿射参数、号段来源与号段状态：全局序号 i → 仿射置换为 y → Base62 定长编码
+ * 长度 6~10 位，N = 62^length < 2^62，编解码均通过 {@link ModMultiplier} 完成模乘，不会溢出且不分配对象
+ * @author: Chanler
+ */
+public class ShortCodeAllocator {
+
+    public static final int MIN_LENGTH = 6;
+    public static final int MAX_LENGTH = 10;
+
+    /**
+     * 字符集
+     */
+    private static final char[] CHARS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    /**
+     * 字符 → Base62 数值的反查表，非法字符为 -1
+     */
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        for (int i = 0; i < CHARS.length; i++) {
+            DECODE_TABLE[CHARS[i]] = (byte) i;
+        }
+    }
+
+    private final String namespace;
+    private final String domain;
+    private final int length;
+    private final long n;                         // N=62^length
+    private final long b;                         // 仿射参数 b
+    private final ModMultiplier aMultiplier;      // a * i mod N
+    private final ModMultiplier invAMultiplier;   // invA * t mod N
+    private final SegmentSource segmentSource;
+
+    private final long minSegmentStep;            // 自适应步长下限
+    private final long maxSegmentStep;            // 自适应步长上限
+    private final long segmentTargetMillis;       // 期望单个号段的消耗时长
+    private final double prefetchRatio;           // 预取阈值占比 (0,1)
+
+    /**
+     * 当前段 [start, end] 与其独立游标，切换号段即整体替换引用，边界与游标不会错配
+     */
+    private final AtomicReference<Segment> current = new AtomicReference<>(new Segment(0, -1));
+
+    /**
+     * 预取段（极简预取方案）
+     */
+    private final AtomicReference<Segment> nextSeg = new AtomicReference<>();
+    private final AtomicBoolean prefetching = new AtomicBoolean(false);
+
+    /**
+     * 自适应步长：按上一号段的实际消耗时长调整下次取段步长，使每段约消耗 segmentTargetMillis
+     */
+    private final AtomicLong adaptiveStep = new AtomicLong();
+    private volatile long lastFetchAt;
+
+    private final Object lock = new Object();
+    private final Object stepLock = new Object();
+
+    private static final class Segment {
+        private final long start;
+        private final long end;
+        private final AtomicLong cursor;
+
+        private Segment(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.cursor = new AtomicLong(start);
+        }
+
+        private long size() {
+            return end - start + 1;
+        }
+
+        private long remaining() {
+            return Math.max(0L, end - cursor.get() + 1);
+        }
+    }
+
+    /**
+     * @param namespace 命名空间名称
+     * @param domain    命名空间所属短链接域名，同一域名下各命名空间长度必须不同
+     * @param length    短码长度（6~10）
+     * @param a         仿射参数 a（需与 62 与 31 互素，且为奇数），为空则用默认值
+     * @param b         仿射参数 b，为空则用默认值
+     * @param source    号段来源，不同命名空间的来源互相独立
+     * @param props     号段步长与预取配置
+     */
+    public ShortCodeAllocator(String namespace, String domain, int length, String a, String b,
+                              SegmentSource source, ShortCodeProps props) {
+        this.namespace = Objects.requireNonNull(namespace, "namespace must not be null");
+        this.domain = Objects.requireNonNull(domain, "domain must not be null");
+        this.segmentSource = Objects.requireNonNull(source, "SegmentSource must not be null");
+        Objects.requireNonNull(props, "ShortCodeProps must not be null");
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("shortcode length must be in [" + MIN_LENGTH + ", " + MAX_LENGTH + "]");
+        }
+        this.length = length;
+        this.n = capacity(length);
+
+        long segmentStep = (props.getSegmentStep() == null ? 100_000L : props.getSegmentStep());
+        this.minSegmentStep = (props.getMinSegmentStep() == null ? segmentStep : props.getMinSegmentStep());
+        this.maxSegmentStep = (props.getMaxSegmentStep() == null ? segmentStep : props.getMaxSegmentStep());
+        this.segmentTargetMillis = (props.getSegmentTargetSeconds() == null ? 60_000L : props.getSegmentTargetSeconds() * 1000L);
+        this.prefetchRatio = (props.getPrefetchRatio() == null ? 0.2d : props.getPrefetchRatio());
+        if (segmentStep <= 0 || minSegmentStep <= 0) {
+            throw new IllegalArgumentException("segmentStep must be > 0");
+        }
+        if (minSegmentStep > segmentStep || segmentStep > maxSegmentStep) {
+            throw new IllegalArgumentException("segmentStep must be in [minSegmentStep, maxSegmentStep]");
+        }
+        if (segmentTargetMillis <= 0) {
+            throw new IllegalArgumentException("segmentTargetSeconds must be > 0");
+        }
+        if (!(prefetchRatio > 0 && prefetchRatio < 1)) {
+            throw new IllegalArgumentException("prefetchRatio must be in (0,1)");
+        }
+        this.adaptiveStep.set(segmentStep);
+
+        long aLong = StrUtil.isBlank(a) ? 1_999_997L : Long.parseLong(a.trim());
+        if (aLong <= 0 || !isCoprime(aLong, 62) || aLong % 31 == 0 || (aLong & 1) == 0) {
+            throw new IllegalArgumentException("affine 'a' must be positive, odd and coprime to 62 and 31");
+        }
+        long bLong = StrUtil.isBlank(b) ? Math.min(19_987_654_321L, n - 1) : Long.parseLong(b.trim());
+        this.b = Math.floorMod(bLong, n);
+        // 一次性预计算编解码用的模乘器
+        this.aMultiplier = new ModMultiplier(aLong, n);
+        this.invAMultiplier = new ModMultiplier(ModMultiplier.modInverse(aLong, n), n);
+    }
+
+    /**
+     * 启动预热：同步拉首个号段，避免首个请求落慢路径
+     */
+    public void start() {
+        current.set(fetchSegment());
+    }
+
+    public String namespace() {
+        return namespace;
+    }
+
+    public String domain() {
+        return domain;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /* 生成下一个短码（固定 length 位），获取全局序号 i → 仿射置换为 y → Base62 固定长度编码 */
+    public String next() {
+        return encode(nextId());
+    }
+
+    /**
+     * 批量生成 n 个短码：一次性从号段中预留连续序号区间，不逐个走 next()
+     * n 超过当前步长一半时直接申请一个恰好 n 长的独立号段，不消耗共享号段
+     */
+    public List<String> nextBatch(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        List<String> codes = new ArrayList<>(count);
+        if (count > adaptiveStep.get() / 2) {
+            Segment dedicated = fetchRange(count);
+            appendCodes(codes, dedicated.start, dedicated.end);
+            return codes;
+        }
+        long remaining = count;
+        while (remaining > 0) {
+            Segment seg = current.get();
+            long c = seg.cursor.getAndAdd(remaining);
+            if (c > seg.end) {
+                switchFrom(seg);
+                continue;
+            }
+            long last = Math.min(seg.end, c + remaining - 1);
+            appendCodes(codes, c, last);
+            remaining -= last - c + 1;
+            if (remaining > 0) {
+                switchFrom(seg);
+            } else {
+                maybePrefetch(seg);
+            }
+        }
+        return codes;
+    }
+
+    private void appendCodes(List<String> codes, long first, long last) {
+        for (long i = first; i <= last; i++) {
+            codes.add(encode(i));
+        }
+    }
+
+    /**
+     * 获取下一个全局自增 ID，并预取号段
+     */
+    private long nextId() {
+        for (;;) {
+            Segment seg = current.get();
+            long c = seg.cursor.getAndIncrement();
+            if (c <= seg.end) {
+                maybePrefetch(seg);
+                return c;
+            }
+            switchFrom(seg);
+        }
+    }
+
+    /**
+     * 当前段耗尽后切换：优先使用已预取段，预取未就绪时才同步取段（慢路径）
+     * 仅一个线程执行切换，其余线程发现引用已变更后直接重试
+     */
+    private void switchFrom(Segment exhausted) {
+        synchronized (lock) {
+            if (current.get() != exhausted) {
+                return;
+            }
+            Segment seg = nextSeg.getAndSet(null);
+            if (seg == null) {
+                seg = fetchSegment();
+            }
+            current.set(seg);
+        }
+    }
+
+    /**
+     * 触发异步预取下一个号段，剩余 prefetchRatio 时，预取
+     */
+    private void maybePrefetch(Segment seg) {
+        // 已有预取结果或预取在则不重复触发
+        if (nextSeg.get() != null) return;
+        if (seg.remaining() > (long) (seg.size() * prefetchRatio)) return;
+        if (!prefetching.compareAndSet(false, true)) return;
+        CompletableFuture.runAsync(() -> {
+            try {
+                Segment next = fetchSegment();
+                nextSeg.compareAndSet(null, next);
+            } catch (Throwable ignore) {
+            } finally {
+                prefetching.set(false);
+            }
+        });
+    }
+
+    /**
+     * 按自适应步长获取下一个共享号段
+     */
+    private Segment fetchSegment() {
+        return fetchRange(nextStep());
+    }
+
+    /**
+     * 计算下次取段步长：两次取段的间隔近似上一号段的消耗时长，
+     * 按 期望时长 / 实际时长 等比缩放，单次最多翻倍或减半，并限制在 [min, max] 内
+     */
+    private long nextStep() {
+        synchronized (stepLock) {
+            long now = System.currentTimeMillis();
+            long step = adaptiveStep.get();
+            if (lastFetchAt > 0) {
+                long elapsed = Math.max(1L, now - lastFetchAt);
+                long desired = (long) (step * ((double) segmentTargetMillis / elapsed));
+                step = Math.max(step / 2, Math.min(step * 2, desired));
+                step = Math.max(minSegmentStep, Math.min(maxSegmentStep, step));
+                adaptiveStep.set(step);
+            }
+            lastFetchAt = now;
+            return step;
+        }
+    }
+
+    /**
+     * 从号段来源获取一个长度为 count 的新号段
+     */
+    private Segment fetchRange(long count) {
+        SegmentRange range = segmentSource.allocate(count);
+        return new Segment(range.start(), range.end());
+    }
+
+    /**
+     * 刷新号段来源的全局高水位
+     */
+    public void refresh() {
+        segmentSource.refresh();
+    }
+
+    /**
+     * 短码序号空间大小 62^length
+     */
+    public static long capacity(int length) {
+        long r = 1L;
+        for (int i = 0; i < length; i++) r *= 62L;
+        return r;
+    }
+
+    /* i → y 的仿射映射后 Base62 定长编码（定长 char[] 从末位回填） */
+    private String encode(long i) {
+        long v = aMultiplier.multiply(i) + b;
+        if (v >= n) v -= n;
+        char[] out = new char[length];
+        for (int p = length - 1; p >= 0; p--) {
+            out[p] = CHARS[(int) (v % 62)];
+            v /= 62;
+        }
+        return new String(out);
+    }
+
+    /**
+     * 判断 a 与 b 是否互素
+     */
+    private static boolean isCoprime(long a, int b) {
+        long x = a, y = b;
+        while (y != 0) {
+            long t = x % y; x = y; y = t;
+        }
+        return x == 1;
+    }
+
+    /* Base62 解码为 y（long，查表） */
+    public static long decodeToY(String code) {
+        long v = 0L;
+        for (int k = 0; k < code.length(); k++) {
+            char c = code.charAt(k);
+            int idx = c < DECODE_TABLE.length ? DECODE_TABLE[c] : -1;
+            if (idx < 0) {
+                throw new IllegalArgumentException("invalid base62 char: " + c);
+            }
+            v = v * 62 + idx;
+        }
+        return v;
+    }
+
+    /* 解码短码为原始序号 i（long） */
+    public long decodeToIndex(String code) {
+        if (code == null || code.length() != length) {
+            throw new IllegalArgumentException("code length mismatch");
+        }
+        long t = decodeToY(code) - b;
+        if (t < 0) t += n;
+        // i = invA * t mod N（预计算切块模乘，避免 long 中间值溢出且不分配对象）
+        return invAMultiplier.multiply(t);
+    }
+
+    /*
+     * 快速否定：仅当 i 不在号段来源的已分配区间内才能断言不存在；否则返回 true（可能存在），全程不访问 Redis
+     * 高水位最多落后一个刷新周期，其间其他节点新发出的短码在创建时已预热 Redis 跳转缓存，回源会先命中 Redis
+     */
+    public boolean mightExist(String code) {
+        try {
+            if (code == null || code.length() != length) return true;
+            return segmentSource.isAllocated(decodeToIndex(code));
+        } catch (Exception e) {
+            return true;
+        }
+    }
+}
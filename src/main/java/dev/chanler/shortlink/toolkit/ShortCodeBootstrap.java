@@ -1,24 +1,137 @@
 package dev.chanler.shortlink.toolkit;
 
+import dev.chanler.shortlink.dao.mapper.ShortCodeSegmentMapper;
+import dev.chanler.shortlink.toolkit.segment.DbSegmentSource;
+import dev.chanler.shortlink.toolkit.segment.FailoverSegmentSource;
+import dev.chanler.shortlink.toolkit.segment.RedisSegmentSource;
+import dev.chanler.shortlink.toolkit.segment.SegmentSource;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.SHORT_CODE_ALLOCATION_KEY;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.SHORT_CODE_NAMESPACE_ALLOCATION_KEY;
 
 /**
  * 启动引导：由 Spring 容器在应用启动时执行一次，初始化短码生成器。
  * @author: Chanler
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class ShortCodeBootstrap {
 
+    private static final String DEFAULT_BIZ_TAG = "default";
+
     private final StringRedisTemplate stringRedisTemplate;
     private final ShortCodeProps shortCodeProps;
+    private final ShortCodeSegmentMapper shortCodeSegmentMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${short-link.domain.default}")
+    private String defaultDomain;
+
+    private ExecutorService redisSegmentExecutor;
+    private final List<ShortCodeAllocator> allocators = new ArrayList<>();
 
     @PostConstruct
     public void init() {
-        ShortCodeUtil.init(stringRedisTemplate, shortCodeProps);
+        int defaultLength = shortCodeProps.getLength() == null ? 6 : shortCodeProps.getLength();
+        ShortCodeAllocator defaultAllocator = new ShortCodeAllocator(DEFAULT_BIZ_TAG, defaultDomain, defaultLength,
+                shortCodeProps.getA(), shortCodeProps.getB(),
+                buildSegmentSource(SHORT_CODE_ALLOCATION_KEY, DEFAULT_BIZ_TAG, defaultLength, shortCodeProps.getDbSegmentBase()),
+                shortCodeProps);
+        allocators.add(defaultAllocator);
+        Map<String, ShortCodeAllocator> gidRoutes = new HashMap<>();
+        Set<String> names = new HashSet<>(Set.of(DEFAULT_BIZ_TAG));
+        for (ShortCodeProps.Namespace each : shortCodeProps.getNamespaces()) {
+            if (each.getName() == null || !names.add(each.getName())) {
+                throw new IllegalArgumentException("shortcode namespace name must be unique and not blank: " + each.getName());
+            }
+            int length = each.getLength() == null ? defaultLength : each.getLength();
+            ShortCodeAllocator allocator = new ShortCodeAllocator(each.getName(),
+                    each.getDomain() == null ? defaultDomain : each.getDomain(), length, each.getA(), each.getB(),
+                    buildSegmentSource(String.format(SHORT_CODE_NAMESPACE_ALLOCATION_KEY, each.getName()), each.getName(), length, null),
+                    shortCodeProps);
+            allocators.add(allocator);
+            for (String gid : each.getGids()) {
+                if (gidRoutes.putIfAbsent(gid, allocator) != null) {
+                    throw new IllegalArgumentException("gid routed to multiple shortcode namespaces: " + gid);
+                }
+            }
+        }
+        allocators.forEach(ShortCodeAllocator::start);
+        ShortCodeUtil.init(defaultAllocator, allocators, gidRoutes);
     }
-}
 
+    /**
+     * Redis 号段区间 [0, base)，DB 号段区间 [base, 62^length)，未开启兜底时 Redis 独占整个序号空间
+     * 各命名空间使用独立的 Redis 计数器与 DB biz_tag，序号空间互不影响
+     */
+    private SegmentSource buildSegmentSource(String counterKey, String bizTag, int length, Long dbSegmentBase) {
+        long capacity = ShortCodeAllocator.capacity(length);
+        if (!Boolean.TRUE.equals(shortCodeProps.getDbFallbackEnable())) {
+            return new RedisSegmentSource(stringRedisTemplate, counterKey, capacity);
+        }
+        long base = dbSegmentBase == null ? capacity / 2 : dbSegmentBase;
+        if (base <= 0 || base >= capacity) {
+            throw new IllegalArgumentException("dbSegmentBase must be in (0, 62^length)");
+        }
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (redisSegmentExecutor == null) {
+            redisSegmentExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "shortcode-redis-segment");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return new FailoverSegmentSource(
+                new RedisSegmentSource(stringRedisTemplate, counterKey, base),
+                new DbSegmentSource(shortCodeSegmentMapper, requiresNew, bizTag, base, capacity),
+                redisSegmentExecutor,
+                shortCodeProps.getRedisLatencyThresholdMillis(),
+                shortCodeProps.getFallbackCooldownSeconds() * 1000L,
+                shortCodeProps.getDbHighWaterMarkRefreshSeconds() * 1000L
+        );
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (redisSegmentExecutor != null) {
+            redisSegmentExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 每秒刷新一次各命名空间的全局高水位，供 mightExist 判断其他节点分配的短码
+     * DB 号段高水位由 FailoverSegmentSource 按需刷新，不随每次调度读库
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void refreshHighWaterMark() {
+        for (ShortCodeAllocator each : allocators) {
+            try {
+                each.refresh();
+            } catch (Throwable t) {
+                log.warn("Refresh short code high water mark error, namespace={}", each.namespace(), t);
+            }
+        }
+    }
+}
@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 短码生成器配置（application.yaml 可直接配置）
  * @author: Chanler
@@ -14,7 +17,7 @@ import org.springframework.context.annotation.Configuration;
 public class ShortCodeProps {
 
     /**
-     * 固定短码长度（默认 6）
+     * 默认命名空间固定短码长度（默认 6，支持 6~10）
      */
     private Integer length = 6;
 
@@ -23,11 +26,51 @@ public class ShortCodeProps {
      */
     private Long segmentStep = 10_000L;
 
+    /**
+     * 自适应步长下限（默认等于 segmentStep，即不缩小）
+     */
+    private Long minSegmentStep;
+
+    /**
+     * 自适应步长上限（默认等于 segmentStep，即不放大）
+     */
+    private Long maxSegmentStep;
+
+    /**
+     * 期望单个号段的消耗时长，单位：秒（默认 60）
+     */
+    private Long segmentTargetSeconds = 60L;
+
     /**
      * 预取阈值占比：剩余量 <= step*ratio 时触发预取（默认 0.2）
      */
     private Double prefetchRatio = 0.2d;
 
+    /**
+     * 是否开启 DB 号段兜底（默认开启）
+     */
+    private Boolean dbFallbackEnable = true;
+
+    /**
+     * DB 号段区间起点，Redis 只在 [0, dbSegmentBase) 内分配，两者互不重叠（为空则取 62^length / 2，仅作用于默认命名空间）
+     */
+    private Long dbSegmentBase;
+
+    /**
+     * Redis 取段耗时阈值，超过即切换到 DB 号段，单位：毫秒（默认 200）
+     */
+    private Long redisLatencyThresholdMillis = 200L;
+
+    /**
+     * 切换到 DB 号段后的冷却时间，期满再尝试 Redis，单位：秒（默认 30）
+     */
+    private Long fallbackCooldownSeconds = 30L;
+
+    /**
+     * 本节点未发出 DB 号段时，DB 号段高水位的刷新间隔，单位：秒（默认 60）
+     */
+    private Long dbHighWaterMarkRefreshSeconds = 60L;
+
     /**
      * 仿射置换参数 a（需与 62 与 31 互素，且为奇数）。为空则用默认值
      */
@@ -37,4 +80,44 @@ public class ShortCodeProps {
      * 仿射置换参数 b（需 0<=b<62^length）。为空则用默认值
      */
     private String b;
+
+    /**
+     * 额外命名空间（默认命名空间使用上方 length/a/b 与 short-link.domain.default）
+     * 同一域名下各命名空间的 length 必须不同；步长、预取与 DB 兜底配置各命名空间共用
+     */
+    private List<Namespace> namespaces = new ArrayList<>();
+
+    @Data
+    public static class Namespace {
+
+        /**
+         * 命名空间名称，用于 Redis 计数器 Key 与 DB 号段 biz_tag
+         */
+        private String name;
+
+        /**
+         * 短链接域名
+         */
+        private String domain;
+
+        /**
+         * 固定短码长度（6~10）
+         */
+        private Integer length;
+
+        /**
+         * 仿射置换参数 a，为空则用默认值
+         */
+        private String a;
+
+        /**
+         * 仿射置换参数 b，为空则用默认值
+         */
+        private String b;
+
+        /**
+         * 路由到该命名空间的分组标识（租户）
+         */
+        private List<String> gids = new ArrayList<>();
+    }
 }
@@ -0,0 +1,76 @@
+package dev.chanler.shortlink.toolkit.segment;
+
+import dev.chanler.shortlink.dao.mapper.ShortCodeSegmentMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于 t_shortcode_segment 的号段来源，区间 [base, limit)
+ * 以 next_id 为版本做乐观 CAS 推进，每次尝试都在独立事务中提交，
+ * 不随调用方（如 createLink）的事务回滚，已发出的号段不会被其他节点重复领取
+ * @author: Chanler
+ */
+public class DbSegmentSource implements SegmentSource {
+
+    private static final int MAX_CAS_RETRY = 16;
+
+    private final ShortCodeSegmentMapper shortCodeSegmentMapper;
+    private final TransactionTemplate requiresNewTransactionTemplate;
+    private final String bizTag;
+    private final long base;
+    private final long limit;
+
+    private final AtomicLong highWaterMark;
+
+    public DbSegmentSource(ShortCodeSegmentMapper shortCodeSegmentMapper, TransactionTemplate requiresNewTransactionTemplate,
+                           String bizTag, long base, long limit) {
+        this.shortCodeSegmentMapper = shortCodeSegmentMapper;
+        this.requiresNewTransactionTemplate = requiresNewTransactionTemplate;
+        this.bizTag = bizTag;
+        this.base = base;
+        this.limit = limit;
+        this.highWaterMark = new AtomicLong(base - 1);
+    }
+
+    @Override
+    public SegmentRange allocate(long count) {
+        for (int attempt = 0; attempt < MAX_CAS_RETRY; attempt++) {
+            SegmentRange range = requiresNewTransactionTemplate.execute(status -> tryAdvance(count));
+            if (range != null) {
+                highWaterMark.accumulateAndGet(range.end(), Math::max);
+                return range;
+            }
+        }
+        throw new IllegalStateException("DB segment CAS retry exhausted, bizTag=" + bizTag);
+    }
+
+    private SegmentRange tryAdvance(long count) {
+        Long nextId = shortCodeSegmentMapper.selectNextId(bizTag);
+        if (nextId == null) {
+            // 首次使用，初始化行后在新事务中重试
+            shortCodeSegmentMapper.insertIgnore(bizTag, base);
+            return null;
+        }
+        if (nextId + count > limit) {
+            throw new IllegalStateException("DB segment region exhausted, limit=" + limit);
+        }
+        if (shortCodeSegmentMapper.casAdvance(bizTag, nextId, count) != 1) {
+            return null;
+        }
+        return new SegmentRange(nextId, nextId + count - 1);
+    }
+
+    @Override
+    public boolean isAllocated(long index) {
+        return index >= base && index <= highWaterMark.get();
+    }
+
+    @Override
+    public void refresh() {
+        Long nextId = shortCodeSegmentMapper.selectNextId(bizTag);
+        if (nextId != null) {
+            highWaterMark.accumulateAndGet(nextId - 1, Math::max);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev.chanler.shortlink.toolkit.segment;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 主备号段来源：主来源（Redis）出错或耗时超过阈值时，在冷却期内改用备用来源（DB）
+ * 超时未返回的主来源号段直接丢弃，只浪费序号，不影响唯一性
+ * 备用来源的高水位只在本节点发出过备用号段后或按较长间隔刷新，平时不读 DB
+ * @author: Chanler
+ */
+@Slf4j
+public class FailoverSegmentSource implements SegmentSource {
+
+    private final SegmentSource primary;
+    private final SegmentSource fallback;
+    private final ExecutorService primaryExecutor;
+    private final long latencyThresholdMillis;
+    private final long cooldownMillis;
+    private final long fallbackRefreshIntervalMillis;
+
+    private volatile long fallbackUntil;
+    // 上次刷新后本节点是否发出过备用号段
+    private volatile boolean fallbackAllocated;
+    private volatile long nextFallbackRefreshAt;
+
+    public FailoverSegmentSource(SegmentSource primary, SegmentSource fallback, ExecutorService primaryExecutor,
+                                 long latencyThresholdMillis, long cooldownMillis, long fallbackRefreshIntervalMillis) {
+        this.primary = primary;
+        this.fallback = fallback;
+        this.primaryExecutor = primaryExecutor;
+        this.latencyThresholdMillis = latencyThresholdMillis;
+        this.cooldownMillis = cooldownMillis;
+        this.fallbackRefreshIntervalMillis = fallbackRefreshIntervalMillis;
+    }
+
+    @Override
+    public SegmentRange allocate(long count) {
+        if (System.currentTimeMillis() >= fallbackUntil) {
+            CompletableFuture<SegmentRange> future = CompletableFuture.supplyAsync(() -> primary.allocate(count), primaryExecutor);
+            try {
+                return future.get(latencyThresholdMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                log.warn("Primary segment source exceeded {}ms, switch to fallback for {}ms", latencyThresholdMillis, cooldownMillis);
+            } catch (ExecutionException ex) {
+                log.warn("Primary segment source error, switch to fallback for {}ms", cooldownMillis, ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while allocating segment", ex);
+            }
+            fallbackUntil = System.currentTimeMillis() + cooldownMillis;
+        }
+        SegmentRange range = fallback.allocate(count);
+        fallbackAllocated = true;
+        return range;
+    }
+
+    @Override
+    public boolean isAllocated(long index) {
+        return primary.isAllocated(index) || fallback.isAllocated(index);
+    }
+
+    @Override
+    public void refresh() {
+        try {
+            primary.refresh();
+        } catch (Throwable t) {
+            log.warn("Refresh primary segment source error", t);
+        }
+        long now = System.currentTimeMillis();
+        if (!fallbackAllocated && now < nextFallbackRefreshAt) {
+            return;
+        }
+        fallbackAllocated = false;
+        nextFallbackRefreshAt = now + fallbackRefreshIntervalMillis;
+        try {
+            fallback.refresh();
+        } catch (Throwable t) {
+            log.warn("Refresh fallback segment source error", t);
+        }
+    }
+}
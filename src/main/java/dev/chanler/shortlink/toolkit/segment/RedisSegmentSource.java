@@ -0,0 +1,58 @@
+package dev.chanler.shortlink.toolkit.segment;
+
+import cn.hutool.core.util.StrUtil;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于 Redis INCRBY 的号段来源，区间 [0, limit)
+ * @author: Chanler
+ */
+public class RedisSegmentSource implements SegmentSource {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String counterKey;
+    private final long limit;
+
+    /**
+     * 高水位：已分配出去的最大序号（含），只增不减
+     */
+    private final AtomicLong highWaterMark = new AtomicLong(-1);
+
+    public RedisSegmentSource(StringRedisTemplate stringRedisTemplate, String counterKey, long limit) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.counterKey = counterKey;
+        this.limit = limit;
+    }
+
+    @Override
+    public SegmentRange allocate(long count) {
+        Long val = stringRedisTemplate.opsForValue().increment(counterKey, count);
+        if (val == null) {
+            throw new IllegalStateException("Redis INCRBY returned null");
+        }
+        long end = val - 1;
+        if (end >= limit) {
+            throw new IllegalStateException("Redis segment region exhausted, limit=" + limit);
+        }
+        highWaterMark.accumulateAndGet(end, Math::max);
+        return new SegmentRange(end - count + 1, end);
+    }
+
+    @Override
+    public boolean isAllocated(long index) {
+        return index >= 0 && index <= highWaterMark.get();
+    }
+
+    /**
+     * 计数器为下一个号段的起点，其前一位即集群已分配的最大序号
+     */
+    @Override
+    public void refresh() {
+        String val = stringRedisTemplate.opsForValue().get(counterKey);
+        if (StrUtil.isNotBlank(val)) {
+            highWaterMark.accumulateAndGet(Long.parseLong(val.trim()) - 1, Math::max);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dev.chanler.shortlink.toolkit.segment;
+
+/**
+ * 号段 [start, end]（均包含）
+ * @author: Chanler
+ */
+public record SegmentRange(long start, long end) {
+}
@@ -0,0 +1,27 @@
+package dev.chanler.shortlink.toolkit.segment;
+
+/**
+ * 短码号段来源
+ * 每个来源只在自己的序号区间 [base, limit) 内分配，不同来源区间互不重叠，仿射置换后的短码全局唯一
+ * @author: Chanler
+ */
+public interface SegmentSource {
+
+    /**
+     * 申请 count 个连续序号
+     * @param count 号段长度
+     * @return 号段 [start, end]
+     */
+    SegmentRange allocate(long count);
+
+    /**
+     * 判断序号是否已被分配出去（仅读本地缓存的高水位，不访问外部存储）
+     * @param index 序号
+     */
+    boolean isAllocated(long index);
+
+    /**
+     * 从外部存储刷新高水位，感知其他节点分配的号段
+     */
+    void refresh();
+}
@@ -0,0 +1,37 @@
+-- hll_count_add_delta_batch.lua
+-- 一次调用写入多组 HLL 成员，按组返回基数增量，组按传入顺序依次执行
+-- KEYS[2i-1] = 第 i 组 HLL key (uv/uip)
+-- KEYS[2i]   = 第 i 组 active set key (uv/uip)
+-- ARGV[1]    = ttlSeconds
+-- ARGV 之后按组依次为：fullShortUrl, 成员数 n, n 个成员 (uv/ip)
+-- 返回数组，第 i 个元素为第 i 组的增量
+local ttl = ARGV[1]
+local results = {}
+local pos = 2
+for i = 1, #KEYS / 2 do
+    local hllKey = KEYS[2 * i - 1]
+    local activeKey = KEYS[2 * i]
+    local fsu = ARGV[pos]
+    local n = tonumber(ARGV[pos + 1])
+    local first = pos + 2
+    local last = first + n - 1
+    pos = last + 1
+    local delta = 0
+    if n > 0 then
+        local before = redis.call('PFCOUNT', hllKey)
+        -- PFADD 返回 0 表示基数估计未变，无需再次 PFCOUNT
+        if redis.call('PFADD', hllKey, unpack(ARGV, first, last)) == 1 then
+            delta = redis.call('PFCOUNT', hllKey) - before
+            if delta < 0 then delta = 0 end
+            -- before 为 0 说明本次新建了 HLL：设置 TTL 并将 fsu 记入活跃集合
+            if before == 0 then
+                redis.call('EXPIRE', hllKey, ttl)
+                if redis.call('SADD', activeKey, fsu) == 1 and redis.call('TTL', activeKey) < 0 then
+                    redis.call('EXPIRE', activeKey, ttl)
+                end
+            end
+        end
+    end
+    results[i] = delta
+end
+return results
@@ -0,0 +1,117 @@
+package dev.chanler.shortlink.common.biz.link;
+
+import dev.chanler.shortlink.common.config.GotoDomainWhiteListConfiguration;
+import dev.chanler.shortlink.common.convention.exception.ClientException;
+import dev.chanler.shortlink.toolkit.ParsedUrl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 跳转域名策略后缀树测试
+ * @author: Chanler
+ */
+class DomainPolicyTest {
+
+    @Test
+    void whiteListAllowsRuleAndSubdomains() {
+        DomainPolicy policy = newPolicy(true, List.of("github.com", "zhihu.com"), List.of());
+
+        assertAllowed(policy, "https://github.com/Merryfling");
+        assertAllowed(policy, "https://gist.github.com/abc");
+        assertAllowed(policy, "zhihu.com/question/1");
+        assertRejected(policy, "https://example.com");
+        // 只按完整标签匹配，不能被后缀字符串欺骗
+        assertRejected(policy, "https://evilgithub.com");
+        assertRejected(policy, "https://github.com.evil.com");
+    }
+
+    @Test
+    void mostSpecificRuleWins() {
+        DomainPolicy policy = newPolicy(true, List.of("github.com", "safe.gist.github.com"), List.of("gist.github.com"));
+
+        assertAllowed(policy, "https://github.com");
+        assertRejected(policy, "https://gist.github.com");
+        assertRejected(policy, "https://a.gist.github.com");
+        assertAllowed(policy, "https://safe.gist.github.com");
+        assertAllowed(policy, "https://x.safe.gist.github.com");
+    }
+
+    @Test
+    void denyBeatsAllowOnSameDomain() {
+        DomainPolicy policy = newPolicy(true, List.of("github.com"), List.of("GitHub.com."));
+
+        assertRejected(policy, "https://github.com");
+        assertRejected(policy, "https://www.github.com");
+    }
+
+    @Test
+    void denyListAppliesWhenWhiteListDisabled() {
+        DomainPolicy policy = newPolicy(false, null, List.of("evil.com"));
+
+        assertAllowed(policy, "https://example.com");
+        assertAllowed(policy, "http://127.0.0.1:8080/a");
+        assertAllowed(policy, null);
+        assertRejected(policy, "https://evil.com");
+        assertRejected(policy, "https://cdn.evil.com");
+    }
+
+    @Test
+    void whiteListRejectsIpAndUnparsableUrl() {
+        DomainPolicy policy = newPolicy(true, List.of("github.com"), List.of());
+
+        assertRejected(policy, "http://127.0.0.1/");
+        assertRejected(policy, "http://localhost/");
+        assertThrows(ClientException.class, () -> policy.verify(null));
+    }
+
+    @Test
+    void whitelistFaviconUsesMappingOrDefault() {
+        DomainPolicy policy = newPolicy(true, List.of("github.com", "example.org"), List.of());
+
+        assertEquals("https://github.com/favicon.ico", policy.whitelistFavicon(ParsedUrl.parse("https://gist.github.com")));
+        assertEquals("https://example.org/favicon.ico", policy.whitelistFavicon(ParsedUrl.parse("https://www.example.org")));
+        assertNull(policy.whitelistFavicon(ParsedUrl.parse("https://example.com")));
+        assertNull(newPolicy(false, List.of("github.com"), List.of()).whitelistFavicon(ParsedUrl.parse("https://github.com")));
+    }
+
+    @Test
+    void compileAppliesConfigurationChanges() {
+        GotoDomainWhiteListConfiguration configuration = configuration(true, List.of("github.com"), List.of());
+        DomainPolicy policy = new DomainPolicy(configuration);
+        policy.init();
+        assertRejected(policy, "https://zhihu.com");
+
+        configuration.setDetails(List.of("github.com", "zhihu.com"));
+        policy.compile();
+        assertAllowed(policy, "https://zhihu.com");
+    }
+
+    private static void assertAllowed(DomainPolicy policy, String url) {
+        assertDoesNotThrow(() -> policy.verify(url == null ? null : ParsedUrl.parse(url)), url);
+    }
+
+    private static void assertRejected(DomainPolicy policy, String url) {
+        assertThrows(ClientException.class, () -> policy.verify(ParsedUrl.parse(url)), url);
+    }
+
+    private static DomainPolicy newPolicy(boolean enable, List<String> details, List<String> denies) {
+        DomainPolicy policy = new DomainPolicy(configuration(enable, details, denies));
+        policy.init();
+        return policy;
+    }
+
+    private static GotoDomainWhiteListConfiguration configuration(boolean enable, List<String> details, List<String> denies) {
+        GotoDomainWhiteListConfiguration configuration = new GotoDomainWhiteListConfiguration();
+        configuration.setEnable(enable);
+        configuration.setNames("测试站点");
+        configuration.setDetails(details);
+        configuration.setDenies(denies);
+        return configuration;
+    }
+}
@@ -0,0 +1,125 @@
+package dev.chanler.shortlink.common.database;
+
+import dev.chanler.shortlink.toolkit.HashModShardingUtil;
+import org.apache.shardingsphere.sharding.api.sharding.complex.ComplexKeysShardingValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * t_link 复合分片算法测试
+ * @author: Chanler
+ */
+class LinkTableShardingAlgorithmTest {
+
+    private static final int SHARDING_COUNT = 16;
+    private static final String HOT_GID = "public";
+    private static final int HOT_SPREAD = 4;
+
+    private final List<String> targets = new ArrayList<>();
+
+    LinkTableShardingAlgorithmTest() {
+        for (int i = 0; i < SHARDING_COUNT; i++) {
+            targets.add("t_link_" + i);
+        }
+    }
+
+    @AfterEach
+    void resetRule() {
+        // 规则为静态字段，恢复默认避免影响其他测试
+        newAlgorithm("");
+    }
+
+    @Test
+    void normalGidRoutesLikeHashMod() {
+        LinkTableShardingAlgorithm algorithm = newAlgorithm(HOT_GID + ":" + HOT_SPREAD);
+        String gid = "aBc123";
+        String expected = "t_link_" + HashModShardingUtil.shardOf(gid, SHARDING_COUNT);
+
+        assertEquals(List.of(expected), List.copyOf(algorithm.doSharding(targets, value(gid, "s.test/abcdef"))));
+        assertEquals(List.of(expected), List.copyOf(algorithm.doSharding(targets, value(gid, null))));
+        assertEquals(HashModShardingUtil.shardOf(gid, SHARDING_COUNT), LinkTableShardingAlgorithm.tableIndexOf(gid, "s.test/abcdef"));
+    }
+
+    @Test
+    void hotGidWithFullShortUrlRoutesToSingleSpreadTable() {
+        LinkTableShardingAlgorithm algorithm = newAlgorithm(HOT_GID + ":" + HOT_SPREAD);
+        Set<Integer> spreadTables = spreadTablesOf(HOT_GID);
+        Set<Integer> hit = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String fullShortUrl = "s.test/code" + i;
+            Collection<String> routed = algorithm.doSharding(targets, value(HOT_GID, fullShortUrl));
+            assertEquals(1, routed.size());
+            int index = LinkTableShardingAlgorithm.tableIndexOf(HOT_GID, fullShortUrl);
+            assertEquals("t_link_" + index, routed.iterator().next());
+            assertTrue(spreadTables.contains(index));
+            hit.add(index);
+        }
+        // 足够多的短链接应打散到全部 spread 张表
+        assertEquals(spreadTables, hit);
+    }
+
+    @Test
+    void hotGidWithoutFullShortUrlRoutesToAllSpreadTables() {
+        LinkTableShardingAlgorithm algorithm = newAlgorithm(HOT_GID + ":" + HOT_SPREAD);
+        Set<String> expected = new HashSet<>();
+        spreadTablesOf(HOT_GID).forEach(each -> expected.add("t_link_" + each));
+
+        assertEquals(expected, new HashSet<>(algorithm.doSharding(targets, value(HOT_GID, null))));
+    }
+
+    @Test
+    void missingGidRoutesToAllTables() {
+        LinkTableShardingAlgorithm algorithm = newAlgorithm(HOT_GID + ":" + HOT_SPREAD);
+
+        assertEquals(targets, algorithm.doSharding(targets, value(null, "s.test/abcdef")));
+    }
+
+    @Test
+    void rejectsInvalidSpreads() {
+        assertThrows(IllegalArgumentException.class, () -> newAlgorithm("public"));
+        assertThrows(IllegalArgumentException.class, () -> newAlgorithm("public:0"));
+        assertThrows(IllegalArgumentException.class, () -> newAlgorithm("public:" + (SHARDING_COUNT + 1)));
+    }
+
+    private static Set<Integer> spreadTablesOf(String gid) {
+        int base = HashModShardingUtil.shardOf(gid, SHARDING_COUNT);
+        Set<Integer> result = new HashSet<>();
+        for (int i = 0; i < HOT_SPREAD; i++) {
+            result.add((base + i) % SHARDING_COUNT);
+        }
+        return result;
+    }
+
+    private static LinkTableShardingAlgorithm newAlgorithm(String hotGidSpreads) {
+        Properties props = new Properties();
+        props.setProperty("sharding-count", String.valueOf(SHARDING_COUNT));
+        props.setProperty("hot-gid-spreads", hotGidSpreads);
+        LinkTableShardingAlgorithm algorithm = new LinkTableShardingAlgorithm();
+        algorithm.init(props);
+        return algorithm;
+    }
+
+    private static ComplexKeysShardingValue<Comparable<?>> value(String gid, String fullShortUrl) {
+        Map<String, Collection<Comparable<?>>> values = new HashMap<>();
+        if (gid != null) {
+            values.put("gid", List.of(gid));
+        }
+        if (fullShortUrl != null) {
+            values.put("full_short_url", List.of(fullShortUrl));
+        }
+        return new ComplexKeysShardingValue<>("t_link", values, Map.of());
+    }
+}
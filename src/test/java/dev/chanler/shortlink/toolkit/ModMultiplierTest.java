@@ -0,0 +1,70 @@
+package dev.chanler.shortlink.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 模乘器与 BigInteger 参考实现的对照测试
+ * @author: Chanler
+ */
+class ModMultiplierTest {
+
+    private static final long[] MULTIPLIERS = {1L, 1_999_997L, 123_456_789_012_345L};
+
+    @Test
+    void multiplyMatchesBigIntegerForShortCodeModuli() {
+        for (int length = ShortCodeAllocator.MIN_LENGTH; length <= ShortCodeAllocator.MAX_LENGTH; length++) {
+            assertMatchesBigInteger(ShortCodeAllocator.capacity(length));
+        }
+    }
+
+    @Test
+    void multiplyMatchesBigIntegerForLargeModuli() {
+        assertMatchesBigInteger((1L << 62) - 1);
+        assertMatchesBigInteger((1L << 62) - 57);
+        assertMatchesBigInteger(2L);
+        assertMatchesBigInteger(1_000_003L);
+    }
+
+    @Test
+    void rejectsModulusOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new ModMultiplier(3, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ModMultiplier(3, 1L << 62));
+    }
+
+    @Test
+    void modInverseMatchesBigInteger() {
+        for (int length = ShortCodeAllocator.MIN_LENGTH; length <= ShortCodeAllocator.MAX_LENGTH; length++) {
+            long n = ShortCodeAllocator.capacity(length);
+            long expected = BigInteger.valueOf(1_999_997L).modInverse(BigInteger.valueOf(n)).longValueExact();
+            assertEquals(expected, ModMultiplier.modInverse(1_999_997L, n));
+        }
+        assertThrows(IllegalArgumentException.class, () -> ModMultiplier.modInverse(62, ShortCodeAllocator.capacity(6)));
+    }
+
+    private static void assertMatchesBigInteger(long modulus) {
+        SplittableRandom random = new SplittableRandom(modulus);
+        for (long multiplier : MULTIPLIERS) {
+            ModMultiplier modMultiplier = new ModMultiplier(multiplier, modulus);
+            long[] edges = {0L, 1L, 2L, modulus / 2, modulus - 2, modulus - 1};
+            for (long x : edges) {
+                if (x >= 0 && x < modulus) {
+                    assertEquals(reference(multiplier, x, modulus), modMultiplier.multiply(x), "x=" + x + ", n=" + modulus);
+                }
+            }
+            for (int k = 0; k < 100_000; k++) {
+                long x = random.nextLong(modulus);
+                assertEquals(reference(multiplier, x, modulus), modMultiplier.multiply(x), "x=" + x + ", n=" + modulus);
+            }
+        }
+    }
+
+    private static long reference(long multiplier, long x, long modulus) {
+        return BigInteger.valueOf(multiplier).multiply(BigInteger.valueOf(x)).mod(BigInteger.valueOf(modulus)).longValueExact();
+    }
+}
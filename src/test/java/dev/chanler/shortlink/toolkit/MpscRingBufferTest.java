@@ -0,0 +1,117 @@
+package dev.chanler.shortlink.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 多生产者单消费者环形缓冲区测试
+ * @author: Chanler
+ */
+class MpscRingBufferTest {
+
+    @Test
+    void capacityRoundsUpToPowerOfTwo() {
+        assertEquals(2, new MpscRingBuffer<Integer>(2).capacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(5).capacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(8).capacity());
+        assertEquals(1024, new MpscRingBuffer<Integer>(1000).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<Integer>(1));
+    }
+
+    @Test
+    void offerReturnsFalseWhenFull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(drained, 1));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+    }
+
+    @Test
+    void drainToKeepsFifoOrderAcrossWrapAround() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            buffer.drainTo(drained, 2);
+            buffer.drainTo(drained, Integer.MAX_VALUE);
+            assertTrue(buffer.isEmpty());
+        }
+        assertEquals(next, drained.size());
+        for (int i = 0; i < next; i++) {
+            assertEquals(i, drained.get(i));
+        }
+        assertEquals(0, buffer.drainTo(drained, 10));
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 100_000;
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (long seq = 0; seq < perProducer; seq++) {
+                    while (!buffer.offer(producer << 32 | seq)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        long[] expectedSeq = new long[producers];
+        List<Long> batch = new ArrayList<>();
+        long received = 0;
+        long total = (long) producers * perProducer;
+        while (received < total) {
+            batch.clear();
+            if (buffer.drainTo(batch, 256) == 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            for (long value : batch) {
+                int producer = (int) (value >>> 32);
+                long seq = value & 0xFFFFFFFFL;
+                // 同一生产者的元素按写入顺序出队，同时排除丢失与重复
+                assertEquals(expectedSeq[producer]++, seq);
+            }
+            received += batch.size();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int p = 0; p < producers; p++) {
+            assertEquals(perProducer, expectedSeq[p]);
+        }
+        assertTrue(buffer.isEmpty());
+    }
+}
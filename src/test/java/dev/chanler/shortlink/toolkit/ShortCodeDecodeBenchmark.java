@@ -0,0 +1,133 @@
+package dev.chanler.shortlink.toolkit;
+
+import dev.chanler.shortlink.toolkit.segment.SegmentRange;
+import dev.chanler.shortlink.toolkit.segment.SegmentSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * decodeToIndex 微基准：原 BigInteger 模乘路径与 {@link ModMultiplier} 查表路径对比
+ * 运行：mvn test-compile 后以 test classpath 执行本类 main 方法，可加 -prof gc 观察分配
+ * @author: Chanler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShortCodeDecodeBenchmark {
+
+    private static final long A = 1_999_997L;
+    private static final int CODE_COUNT = 1024;
+
+    @Param({"6", "7", "10"})
+    private int length;
+
+    private long n;
+    private long b;
+    private long invA;
+    private ShortCodeAllocator allocator;
+    private String[] codes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        n = ShortCodeAllocator.capacity(length);
+        b = Math.min(19_987_654_321L, n - 1);
+        invA = ModMultiplier.modInverse(A, n);
+        ShortCodeProps props = new ShortCodeProps();
+        props.setSegmentStep((long) CODE_COUNT * 2);
+        allocator = new ShortCodeAllocator("bench", "s.bench", length, String.valueOf(A), String.valueOf(b),
+                new FixedSegmentSource(n / 3), props);
+        allocator.start();
+        codes = new String[CODE_COUNT];
+        for (int i = 0; i < CODE_COUNT; i++) {
+            codes[i] = allocator.next();
+        }
+    }
+
+    private String nextCode() {
+        cursor = (cursor + 1) & (CODE_COUNT - 1);
+        return codes[cursor];
+    }
+
+    /**
+     * 原实现：分支解码 Base62，BigInteger 计算 invA * t mod N
+     */
+    @Benchmark
+    public long bigInteger() {
+        String code = nextCode();
+        long y = 0L;
+        for (int k = 0; k < code.length(); k++) {
+            char c = code.charAt(k);
+            int idx;
+            if (c >= '0' && c <= '9') idx = c - '0';
+            else if (c >= 'A' && c <= 'Z') idx = 10 + (c - 'A');
+            else if (c >= 'a' && c <= 'z') idx = 36 + (c - 'a');
+            else throw new IllegalArgumentException("invalid base62 char: " + c);
+            y = y * 62 + idx;
+        }
+        long t = (y - b) % n;
+        if (t < 0) t += n;
+        return BigInteger.valueOf(invA).multiply(BigInteger.valueOf(t)).mod(BigInteger.valueOf(n)).longValue();
+    }
+
+    /**
+     * 新实现：查表解码 Base62，ModMultiplier 切块模乘
+     */
+    @Benchmark
+    public long modMultiplier() {
+        return allocator.decodeToIndex(nextCode());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ShortCodeDecodeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * 从固定起点分配号段的内存号段来源
+     */
+    private static final class FixedSegmentSource implements SegmentSource {
+
+        private long next;
+
+        private FixedSegmentSource(long start) {
+            this.next = start;
+        }
+
+        @Override
+        public synchronized SegmentRange allocate(long count) {
+            long start = next;
+            next += count;
+            return new SegmentRange(start, start + count - 1);
+        }
+
+        @Override
+        public boolean isAllocated(long index) {
+            return true;
+        }
+
+        @Override
+        public void refresh() {
+        }
+    }
+}
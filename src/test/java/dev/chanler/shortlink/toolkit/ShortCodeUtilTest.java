@@ -0,0 +1,107 @@
+package dev.chanler.shortlink.toolkit;
+
+import dev.chanler.shortlink.toolkit.segment.SegmentRange;
+import dev.chanler.shortlink.toolkit.segment.SegmentSource;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 短码编解码往返测试：按号段逐个生成短码，解码后必须还原为原始序号
+ * @author: Chanler
+ */
+class ShortCodeUtilTest {
+
+    private static final long SEGMENT_STEP = 20_000L;
+
+    @ParameterizedTest
+    @ValueSource(ints = {6, 7, 8, 9, 10})
+    void nextThenDecodeToIndexWalksFirstSegment(int length) {
+        assertRoundTrip(length, 0L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {6, 7, 8, 9, 10})
+    void nextThenDecodeToIndexWalksLastSegment(int length) {
+        // 序号空间末尾的号段，覆盖 t 接近 N 时的模乘
+        assertRoundTrip(length, ShortCodeAllocator.capacity(length) - SEGMENT_STEP);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {6, 7, 8, 9, 10})
+    void mightExistFollowsAllocatedRange(int length) {
+        ShortCodeAllocator allocator = allocator(length, 0L);
+        allocator.start();
+        String code = allocator.next();
+        assertTrue(allocator.mightExist(code));
+        assertTrue(allocator.mightExist("bad"));
+
+        // 未分配序号的短码可以快速否定
+        ShortCodeAllocator other = allocator(length, SEGMENT_STEP * 4);
+        other.start();
+        assertFalse(allocator.mightExist(other.next()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {6, 7, 8, 9, 10})
+    void decodeToIndexRejectsInvalidCode(int length) {
+        ShortCodeAllocator allocator = allocator(length, 0L);
+        assertThrows(IllegalArgumentException.class, () -> allocator.decodeToIndex("0".repeat(length + 1)));
+        assertThrows(IllegalArgumentException.class, () -> allocator.decodeToIndex("-".repeat(length)));
+    }
+
+    private static void assertRoundTrip(int length, long base) {
+        ShortCodeAllocator allocator = allocator(length, base);
+        allocator.start();
+        Set<String> seen = new HashSet<>((int) (SEGMENT_STEP * 2));
+        for (long i = base; i < base + SEGMENT_STEP; i++) {
+            String code = allocator.next();
+            assertEquals(length, code.length());
+            assertTrue(seen.add(code), "duplicate code " + code);
+            assertEquals(i, allocator.decodeToIndex(code), "round trip failed for code " + code);
+        }
+    }
+
+    private static ShortCodeAllocator allocator(int length, long base) {
+        ShortCodeProps props = new ShortCodeProps();
+        props.setSegmentStep(SEGMENT_STEP);
+        return new ShortCodeAllocator("test", "s.test", length, null, null, new SequentialSegmentSource(base), props);
+    }
+
+    /**
+     * 从 base 起顺序分配号段的内存号段来源
+     */
+    private static final class SequentialSegmentSource implements SegmentSource {
+
+        private final long base;
+        private final AtomicLong next;
+
+        private SequentialSegmentSource(long base) {
+            this.base = base;
+            this.next = new AtomicLong(base);
+        }
+
+        @Override
+        public SegmentRange allocate(long count) {
+            long start = next.getAndAdd(count);
+            return new SegmentRange(start, start + count - 1);
+        }
+
+        @Override
+        public boolean isAllocated(long index) {
+            return index >= base && index < next.get();
+        }
+
+        @Override
+        public void refresh() {
+        }
+    }
+}